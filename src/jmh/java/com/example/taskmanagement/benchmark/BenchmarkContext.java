@@ -0,0 +1,28 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application without a web server for benchmarks that go through the real beans: JPA on the
+ * in-memory H2 database, the caches, the event listeners and the MCP tool registry.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TaskManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "logging.level.root=WARN",
+                        // Benchmarked calls are not logged, so log I/O does not end up in the scores
+                        "app.mcp.access-log.enabled=false",
+                        "spring.h2.console.enabled=false")
+                .run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.taskmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (-rf json) benchmark by benchmark, matching on the benchmark name,
+ * mode and parameters. A benchmark regresses when its score is worse than the baseline by more than the
+ * threshold percentage: lower for throughput, higher for the time modes. Exits with status 1 if any did.
+ * <pre>
+ * JmhBaselineDiff &lt;baseline.json&gt; &lt;current.json&gt; [threshold-percent, default 10]
+ * </pre>
+ */
+public final class JmhBaselineDiff {
+
+    private record Score(double value, String unit, boolean higherIsBetter) {}
+
+    private JmhBaselineDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhBaselineDiff <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %18s %18s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %18s %18s %9s%n", entry.getKey(), "-", format(now), "new");
+                continue;
+            }
+            double change = before.value() == 0 ? 0 : (now.value() - before.value()) / before.value() * 100;
+            double worse = now.higherIsBetter() ? -change : change;
+            String verdict = worse > threshold ? "  REGRESSED" : worse < -threshold ? "  improved" : "";
+            if (worse > threshold) {
+                regressions++;
+            }
+            System.out.printf("%-90s %18s %18s %+8.1f%%%s%n",
+                    entry.getKey(), format(before), format(now), change, verdict);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-90s %18s %18s %9s%n", key, format(baseline.get(key)), "-", "removed");
+            }
+        }
+
+        System.out.printf("%n%d of %d benchmarks regressed by more than %.1f%%%n", regressions, current.size(), threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String mode = result.path("mode").asText();
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key(result, mode), new Score(
+                    metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(mode)));
+        }
+        return scores;
+    }
+
+    // FooBenchmark.bar [avgt] size=10,type=a
+    private static String key(JsonNode result, String mode) {
+        String benchmark = result.path("benchmark").asText();
+        int method = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1);
+        StringBuilder key = new StringBuilder(benchmark.substring(method + 1)).append(" [").append(mode).append(']');
+        Map<String, String> params = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        fields.forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+        if (!params.isEmpty()) {
+            key.append(' ');
+            params.forEach((name, value) -> key.append(name).append('=').append(value).append(','));
+            key.setLength(key.length() - 1);
+        }
+        return key.toString();
+    }
+
+    private static String format(Score score) {
+        String value = score.value() >= 100 ? String.format("%.0f", score.value()) : String.format("%.3f", score.value());
+        return value + " " + score.unit();
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.taskmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for a running server: mixed REST, MCP HTTP and MCP SSE message traffic at a fixed
+ * request rate. Requests start on schedule whether or not earlier ones have been answered, each on its own
+ * virtual thread, and latency is measured from the scheduled start. A stalled server therefore shows up as
+ * latency of every request that should have started during the stall, not just the one that was in flight
+ * (coordinated omission). Service time, measured from when the request was actually sent, is reported too.
+ * <pre>
+ * LoadGenerator [url=http://localhost:8080] [rate=200] [duration=PT60S] [warmup=PT10S]
+ *               [mix=rest.getTask:20,mcp.getTask:10,...] [sampleProjects=200] [timeout=PT30S]
+ * </pre>
+ * Project and task ids are read from the server first, so seed it beforehand (the "seed" profile).
+ */
+public final class LoadGenerator {
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+    private static final String[] SEARCH_TERMS = {"billing", "login", "dashboard", "migration", "payment", "cache"};
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    enum Operation {
+        REST_PROJECT_STATS("rest.projectStats", 10),
+        REST_TASK_PAGE("rest.taskPage", 15),
+        REST_GET_TASK("rest.getTask", 20),
+        REST_SEARCH("rest.search", 5),
+        REST_CREATE_TASK("rest.createTask", 5),
+        REST_PATCH_TASK("rest.patchTask", 10),
+        MCP_GET_TASK("mcp.getTask", 15),
+        MCP_SEARCH_BY_STATUS("mcp.searchTasksByStatus", 10),
+        SSE_LIST_TASKS("sse.listTasks", 10);
+
+        final String key;
+        final int defaultWeight;
+
+        Operation(String key, int defaultWeight) {
+            this.key = key;
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private record Stats(Histogram latency, Histogram serviceTime, LongAdder errors) {
+        Stats() {
+            this(new ConcurrentHistogram(3), new ConcurrentHistogram(3), new LongAdder());
+        }
+    }
+
+    private final URI baseUri;
+    private final int rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration timeout;
+    private final int sampleProjects;
+    private final Operation[] schedule;
+
+    private final HttpClient client;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong requestIds = new AtomicLong();
+    private long[] projectIds;
+    private long[] taskIds;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.baseUri = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+        this.rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        this.duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+        this.warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        this.timeout = Duration.parse(options.getOrDefault("timeout", "PT30S"));
+        this.sampleProjects = Integer.parseInt(options.getOrDefault("sampleProjects", "200"));
+        this.schedule = schedule(options.get("mix"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                System.err.println("Arguments are key=value, got: " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        new LoadGenerator(options).run();
+    }
+
+    /**
+     * The operation mix as a table with one slot per unit of weight, so picking an operation is a single lookup.
+     */
+    private static Operation[] schedule(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        if (mix == null || mix.isBlank()) {
+            for (Operation operation : Operation.values()) {
+                weights.put(operation, operation.defaultWeight);
+            }
+        } else {
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                Operation operation = Arrays.stream(Operation.values())
+                        .filter(candidate -> candidate.key.equals(parts[0]))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + parts[0]
+                                + "; known: " + Arrays.stream(Operation.values()).map(op -> op.key).toList()));
+                weights.put(operation, parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+            }
+        }
+        List<Operation> slots = new ArrayList<>();
+        weights.forEach((operation, weight) -> slots.addAll(Collections.nCopies(weight, operation)));
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix is empty");
+        }
+        return slots.toArray(Operation[]::new);
+    }
+
+    private void run() throws Exception {
+        discoverIds();
+        System.out.printf("Target %d requests/s for %s after a %s warmup against %s (%d projects, %d sampled tasks)%n",
+                rate, duration, warmup, baseUri, projectIds.length, taskIds.length);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long nextProgress = start + PROGRESS_INTERVAL.toNanos();
+        ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            if (intended >= nextProgress) {
+                System.out.printf("%5ds: %d requests started, %d in flight%n",
+                        TimeUnit.NANOSECONDS.toSeconds(intended - start), i, inFlight.get());
+                nextProgress += PROGRESS_INTERVAL.toNanos();
+            }
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            HttpRequest request = request(operation, random);
+            boolean measured = intended >= measureFrom;
+            inFlight.incrementAndGet();
+            requests.execute(() -> send(operation, request, intended, measured));
+        }
+
+        requests.shutdown();
+        if (!requests.awaitTermination(timeout.toSeconds() + 5, TimeUnit.SECONDS)) {
+            System.out.printf("%d requests still in flight after the timeout%n", inFlight.get());
+            requests.shutdownNow();
+        }
+        report(duration.toNanos() / 1e9);
+    }
+
+    private void send(Operation operation, HttpRequest request, long intended, boolean measured) {
+        long sent = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            failed = response.statusCode() >= 400 || isErrorBody(operation, response.body());
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed = true;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        long done = System.nanoTime();
+        if (measured) {
+            Stats operationStats = stats.get(operation);
+            operationStats.latency().recordValue(TimeUnit.NANOSECONDS.toMicros(done - intended));
+            operationStats.serviceTime().recordValue(TimeUnit.NANOSECONDS.toMicros(done - sent));
+            if (failed) {
+                operationStats.errors().increment();
+            }
+        }
+    }
+
+    // MCP failures come back as 200 with an error result or a JSON-RPC error object
+    private static boolean isErrorBody(Operation operation, String body) {
+        return switch (operation) {
+            case MCP_GET_TASK, MCP_SEARCH_BY_STATUS -> body.contains("\"isError\":true");
+            case SSE_LIST_TASKS -> body.contains("\"isError\":true") || body.contains("\"error\":{");
+            default -> false;
+        };
+    }
+
+    private HttpRequest request(Operation operation, Random random) {
+        long projectId = projectIds[random.nextInt(projectIds.length)];
+        long taskId = taskIds[random.nextInt(taskIds.length)];
+        return switch (operation) {
+            case REST_PROJECT_STATS -> get("/api/projects/" + projectId + "/stats");
+            case REST_TASK_PAGE -> get("/api/projects/" + projectId + "/tasks/page?limit=50");
+            case REST_GET_TASK -> get("/api/tasks/" + taskId);
+            case REST_SEARCH -> get("/api/tasks/search?limit=20&q="
+                    + URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8));
+            case REST_CREATE_TASK -> json("POST", "/api/projects/" + projectId + "/tasks",
+                    "{\"title\":\"Load test task\",\"description\":\"Created by the load generator\",\"status\":\"TODO\"}");
+            case REST_PATCH_TASK -> json("PATCH", "/api/tasks/" + taskId,
+                    "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}");
+            case MCP_GET_TASK -> json("POST", "/mcp/tools/call",
+                    "{\"name\":\"getTask\",\"arguments\":{\"id\":" + taskId + "}}");
+            case MCP_SEARCH_BY_STATUS -> json("POST", "/mcp/tools/call",
+                    "{\"name\":\"searchTasksByStatus\",\"arguments\":{\"status\":\""
+                            + STATUSES[random.nextInt(STATUSES.length)] + "\",\"projectId\":" + projectId + ",\"limit\":20}}");
+            case SSE_LIST_TASKS -> json("POST", "/mcp/sse/message",
+                    "{\"jsonrpc\":\"2.0\",\"id\":" + requestIds.incrementAndGet() + ",\"method\":\"tools/call\","
+                            + "\"params\":{\"name\":\"listTasks\",\"arguments\":{\"projectId\":" + projectId + ",\"limit\":50}}}");
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest json(String method, String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Reads all project ids, and the first page of task ids of a random sample of projects.
+     */
+    private void discoverIds() throws IOException, InterruptedException {
+        JsonNode projects = getJson("/api/projects");
+        projectIds = new long[projects.size()];
+        for (int i = 0; i < projects.size(); i++) {
+            projectIds[i] = projects.get(i).path("id").asLong();
+        }
+        if (projectIds.length == 0) {
+            throw new IllegalStateException("No projects on " + baseUri + "; start it with the seed profile first");
+        }
+
+        List<Long> tasks = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < Math.min(sampleProjects, projectIds.length); i++) {
+            long projectId = projectIds[random.nextInt(projectIds.length)];
+            for (JsonNode task : getJson("/api/projects/" + projectId + "/tasks/page?limit=100").path("items")) {
+                tasks.add(task.path("id").asLong());
+            }
+        }
+        if (tasks.isEmpty()) {
+            throw new IllegalStateException("The sampled projects have no tasks");
+        }
+        taskIds = tasks.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get(path), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+        return JSON.readTree(response.body());
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%nLatency from the scheduled start in ms (service time from the actual send in brackets)%n");
+        System.out.printf("%-26s %8s %7s %8s %16s %16s %16s %16s %16s%n",
+                "operation", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        Histogram allLatency = new Histogram(3);
+        Histogram allServiceTime = new Histogram(3);
+        long allErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Stats operationStats = stats.get(operation);
+            if (operationStats.latency().getTotalCount() == 0) {
+                continue;
+            }
+            allLatency.add(operationStats.latency());
+            allServiceTime.add(operationStats.serviceTime());
+            allErrors += operationStats.errors().sum();
+            row(operation.key, operationStats.latency(), operationStats.serviceTime(), operationStats.errors().sum(), seconds);
+        }
+        row("all", allLatency, allServiceTime, allErrors, seconds);
+    }
+
+    private static void row(String name, Histogram latency, Histogram serviceTime, long errors, double seconds) {
+        System.out.printf("%-26s %8d %7d %8.1f %16s %16s %16s %16s %16s%n",
+                name, latency.getTotalCount(), errors, latency.getTotalCount() / seconds,
+                millis(latency.getValueAtPercentile(50), serviceTime.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(90), serviceTime.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99), serviceTime.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9), serviceTime.getValueAtPercentile(99.9)),
+                millis(latency.getMaxValue(), serviceTime.getMaxValue()));
+    }
+
+    private static String millis(long latencyMicros, long serviceMicros) {
+        return String.format("%.1f (%.1f)", latencyMicros / 1000.0, serviceMicros / 1000.0);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.mcp.McpController;
+import com.example.taskmanagement.mcp.McpServerConfiguration;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.service.TaskService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tools/call on the MCP HTTP endpoint: binding the params into the tool's request type (name first, and
+ * arguments first, which buffers them), and full calls through McpController.callTool including writing
+ * the response, for a cached single-task lookup and a page of listTasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpDispatchBenchmark {
+    private static final int TASKS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private McpServerConfiguration.McpToolRegistry toolRegistry;
+    private McpController controller;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private byte[] listTasksCall;
+    private byte[] listTasksCallArgumentsFirst;
+    private byte[] getTaskCall;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        objectMapper = context.getBean(ObjectMapper.class);
+        toolRegistry = context.getBean(McpServerConfiguration.McpToolRegistry.class);
+        controller = context.getBean(McpController.class);
+
+        Project project = context.getBean(ProjectService.class).createProject(
+                Project.builder().name("Dispatch benchmark").build());
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder().title("Task " + i).status(Task.Status.TODO).build());
+        }
+        Long taskId = context.getBean(TaskService.class).createTasks(project.getId(), tasks).get(0).getId();
+
+        listTasksCall = bytes("{\"name\":\"listTasks\",\"arguments\":{\"projectId\":" + project.getId()
+                + ",\"limit\":100}}");
+        listTasksCallArgumentsFirst = bytes("{\"arguments\":{\"projectId\":" + project.getId()
+                + ",\"limit\":100},\"name\":\"listTasks\"}");
+        getTaskCall = bytes("{\"name\":\"getTask\",\"arguments\":{\"id\":" + taskId + "}}");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public McpServerConfiguration.McpToolCall bindArguments() throws IOException {
+        return readToolCall(listTasksCall);
+    }
+
+    @Benchmark
+    public McpServerConfiguration.McpToolCall bindArgumentsBeforeName() throws IOException {
+        return readToolCall(listTasksCallArgumentsFirst);
+    }
+
+    @Benchmark
+    public void callGetTask() throws IOException {
+        write(controller.callTool(getTaskCall));
+    }
+
+    @Benchmark
+    public void callListTasks() throws IOException {
+        write(controller.callTool(listTasksCall));
+    }
+
+    private McpServerConfiguration.McpToolCall readToolCall(byte[] body) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            parser.nextToken();
+            return toolRegistry.readToolCall(parser);
+        }
+    }
+
+    private void write(ResponseEntity<Object> response) throws IOException {
+        objectMapper.writeValue(sink, response.getBody());
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.mcp.McpToolMetrics;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * McpToolMetrics.recordCall on the Prometheus registry, with the bucket histogram the application configures
+ * for mcp.tool.calls, and with client-side p50/p99/p999 added on top. The call path budget is 100 ns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpToolMetricsBenchmark {
+
+    @Param({"histogram", "histogram+percentiles"})
+    private String distribution;
+
+    private PrometheusMeterRegistry registry;
+    private McpToolMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        // What management.metrics.distribution.* does for the application's registry
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                DistributionStatisticConfig.Builder builder = DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true);
+                if (distribution.contains("percentiles")) {
+                    builder.percentiles(0.5, 0.99, 0.999);
+                }
+                return builder.build().merge(config);
+            }
+        });
+        metrics = McpToolMetrics.register(registry, "getTask");
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    // Spread over the range of real tool calls, so different buckets are hit
+    private static long callNanos() {
+        return 50_000 + ThreadLocalRandom.current().nextLong(20_000_000);
+    }
+
+    @Benchmark
+    public void recordCall() {
+        metrics.recordCall(callNanos());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordCallContended() {
+        metrics.recordCall(callNanos());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.mcp.McpToolResult;
+import com.example.taskmanagement.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a tools/call response for a listTasks-sized result: serializing the result to a String and then
+ * the envelope holding it (what the MCP controllers used to do) against the single-pass McpToolResult.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpToolResultBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int tasks;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter resultWriter;
+    private List<Task> result;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        resultWriter = objectMapper.writer();
+        result = new ArrayList<>(tasks);
+        Task.Status[] statuses = Task.Status.values();
+        for (int i = 0; i < tasks; i++) {
+            result.add(Task.builder()
+                    .id((long) i + 1)
+                    .title("Task " + i + " \"quoted\"")
+                    .description("Line one of task " + i + "\nLine two with a tab\tand a backslash \\ – ünïcödé")
+                    .status(statuses[i % statuses.length])
+                    .build());
+        }
+
+        ByteArrayOutputStream doubleEncoded = new ByteArrayOutputStream();
+        ByteArrayOutputStream singlePass = new ByteArrayOutputStream();
+        writeDoubleEncoded(doubleEncoded);
+        writeSinglePass(singlePass);
+        if (!Arrays.equals(doubleEncoded.toByteArray(), singlePass.toByteArray())) {
+            throw new IllegalStateException("Single-pass encoding differs from the double-encoded response");
+        }
+    }
+
+    @Benchmark
+    public void doubleEncoded() throws IOException {
+        writeDoubleEncoded(sink);
+    }
+
+    @Benchmark
+    public void singlePass() throws IOException {
+        writeSinglePass(sink);
+    }
+
+    private void writeDoubleEncoded(OutputStream out) throws IOException {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("type", "text");
+        content.put("text", objectMapper.writeValueAsString(result));
+        Map<String, Object> toolResult = new LinkedHashMap<>();
+        toolResult.put("content", List.of(content));
+        toolResult.put("isError", false);
+        objectMapper.writeValue(out, envelope(toolResult));
+    }
+
+    private void writeSinglePass(OutputStream out) throws IOException {
+        objectMapper.writeValue(out, envelope(new McpToolResult(result, resultWriter)));
+    }
+
+    private static Map<String, Object> envelope(Object toolResult) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jsonrpc", "2.0");
+        response.put("id", 1);
+        response.put("result", toolResult);
+        return response;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.mcp.McpController;
+import com.example.taskmanagement.mcp.McpServerConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tools/list: building the tool registry at startup, which generates the input schema of every tool and
+ * serializes the tools/list result, and serving tools/list from the prebuilt result afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpToolsListBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ConfigurableListableBeanFactory beanFactory;
+    private ObjectMapper objectMapper;
+    // Not the application's registry: re-registering the tool meters there would only look them up
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // A plain instance, so calling the @Bean method builds a new registry instead of returning the bean
+    private final McpServerConfiguration configuration = new McpServerConfiguration();
+    private McpController controller;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        beanFactory = context.getBeanFactory();
+        objectMapper = context.getBean(ObjectMapper.class);
+        controller = context.getBean(McpController.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public McpServerConfiguration.McpToolRegistry buildRegistry() throws IOException {
+        return configuration.mcpToolRegistry(beanFactory, objectMapper, meterRegistry);
+    }
+
+    @Benchmark
+    public void listTools() throws IOException {
+        sink.write(controller.listTools().getBody());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a Project with its tasks, as getProject and GET /api/projects/{id} return it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectSerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int tasks;
+
+    private ObjectMapper objectMapper;
+    private Project project;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        project = Project.builder()
+                .id(1L)
+                .name("Benchmark project")
+                .description("A project with " + tasks + " tasks")
+                .build();
+        List<Task> taskList = new ArrayList<>(tasks);
+        Task.Status[] statuses = Task.Status.values();
+        for (int i = 0; i < tasks; i++) {
+            taskList.add(Task.builder()
+                    .id((long) i + 1)
+                    .title("Task " + i)
+                    .description("Description of task " + i + " with some \"quoted\" text\nand a second line")
+                    .status(statuses[i % statuses.length])
+                    .project(project)
+                    .build());
+        }
+        project.setTasks(taskList);
+    }
+
+    @Benchmark
+    public void toStream() throws IOException {
+        objectMapper.writeValue(sink, project);
+    }
+
+    @Benchmark
+    public String toJsonString() throws IOException {
+        return objectMapper.writeValueAsString(project);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.TaskPatch;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService CRUD against the embedded H2 database, through the transactional proxies, caches and
+ * change listeners, on a project of 10,000 tasks. Create and delete run as a pair so the table keeps its size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+    private static final int TASKS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long projectId;
+    private List<Long> taskIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        taskService = context.getBean(TaskService.class);
+        projectId = context.getBean(ProjectService.class)
+                .createProject(Project.builder().name("Service benchmark").build())
+                .getId();
+        List<Task> tasks = new ArrayList<>(TASKS);
+        Task.Status[] statuses = Task.Status.values();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder()
+                    .title("Task " + i)
+                    .description("Description of task " + i)
+                    .status(statuses[i % statuses.length])
+                    .build());
+        }
+        taskIds = taskService.createTasks(projectId, tasks).stream().map(Task::getId).toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long nextTaskId() {
+        next = (next + 1) % taskIds.size();
+        return taskIds.get(next);
+    }
+
+    @Benchmark
+    public void createAndDelete() {
+        Task created = taskService.createTask(projectId, Task.builder()
+                .title("Created task")
+                .status(Task.Status.TODO)
+                .build());
+        taskService.deleteTask(created.getId());
+    }
+
+    @Benchmark
+    public Optional<Task> getById() {
+        return taskService.getTaskById(nextTaskId());
+    }
+
+    @Benchmark
+    public Task update() {
+        return taskService.updateTask(nextTaskId(), Task.builder()
+                .title("Updated task")
+                .description("Updated description")
+                .status(Task.Status.IN_PROGRESS)
+                .build());
+    }
+
+    @Benchmark
+    public boolean patch() {
+        return taskService.patchTask(nextTaskId(), new TaskPatch("Patched task", null, null));
+    }
+
+    @Benchmark
+    public CursorPage<Task> searchByStatus() {
+        return taskService.searchTasksByStatus(Task.Status.TODO, projectId, null, 100);
+    }
+}
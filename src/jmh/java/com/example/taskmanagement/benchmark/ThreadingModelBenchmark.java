@@ -0,0 +1,158 @@
+package com.example.taskmanagement.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A burst of concurrent requests, each waiting on a remote call and then running a JDBC query on a pooled
+ * H2 connection: Tomcat's default of 200 platform request threads against one virtual thread per request
+ * (spring.threads.virtual.enabled). The score is the time until the whole burst is answered. The latency of
+ * every single request, from the start of the burst to its answer, goes into a histogram; its p50/p99/p999
+ * and the peak number of requests in progress at once are reported as auxiliary counters.
+ * <p>
+ * This exercises the two thread models on their own, not the application. To compare them end to end, run
+ * LoadGenerator against the server started with and without the virtual profile (see the README).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+// JMH sums event counters over the measurement iterations, so one longer iteration keeps them per-run values
+@Measurement(iterations = 1, time = 10)
+@Fork(1)
+public class ThreadingModelBenchmark {
+    // server.tomcat.threads.max and spring.datasource.hikari.maximum-pool-size defaults
+    private static final int TOMCAT_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final int TASKS = 10_000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"200", "2000"})
+    private int requests;
+
+    // Time each request spends waiting without holding a connection, e.g. on a slow client or another service
+    @Param({"0", "10"})
+    private int remoteMillis;
+
+    private HikariDataSource dataSource;
+    private ExecutorService executor;
+
+    /**
+     * Per-request latencies and concurrency of one iteration, read by JMH when the iteration ends.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Requests {
+        private final Histogram latencyMicros = new ConcurrentHistogram(3);
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            latencyMicros.reset();
+            peak.set(0);
+        }
+
+        public long peakInProgress() {
+            return peak.get();
+        }
+
+        public double latencyP50Millis() {
+            return latencyMicros.getValueAtPercentile(50) / 1000.0;
+        }
+
+        public double latencyP99Millis() {
+            return latencyMicros.getValueAtPercentile(99) / 1000.0;
+        }
+
+        public double latencyP999Millis() {
+            return latencyMicros.getValueAtPercentile(99.9) / 1000.0;
+        }
+
+        void started() {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        }
+
+        void finished(long burstStartNanos) {
+            inFlight.decrementAndGet();
+            latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - burstStartNanos));
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:threading;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(30_000);
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table task (id bigint primary key, status varchar(20), project_id bigint)");
+            statement.execute("create index idx_task_status_project on task (status, project_id)");
+            statement.execute("insert into task select x, case mod(x, 3) when 0 then 'TODO' when 1 then 'IN_PROGRESS'"
+                    + " else 'DONE' end, mod(x, 100) from system_range(1, " + TASKS + ")");
+        }
+
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public long burst(Requests stats) throws Exception {
+        long started = System.nanoTime();
+        List<Future<Long>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            long projectId = i % 100;
+            responses.add(executor.submit(() -> handle(projectId, stats, started)));
+        }
+        long total = 0;
+        for (Future<Long> response : responses) {
+            total += response.get();
+        }
+        return total;
+    }
+
+    private long handle(long projectId, Requests stats, long burstStartNanos) throws Exception {
+        stats.started();
+        try {
+            if (remoteMillis > 0) {
+                Thread.sleep(remoteMillis);
+            }
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement query = connection.prepareStatement(
+                         "select count(*) from task where status = ? and project_id = ?")) {
+                query.setString(1, "TODO");
+                query.setLong(2, projectId);
+                try (ResultSet rows = query.executeQuery()) {
+                    rows.next();
+                    return rows.getLong(1);
+                }
+            }
+        } finally {
+            stats.finished(burstStartNanos);
+        }
+    }
+}
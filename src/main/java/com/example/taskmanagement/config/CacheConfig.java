@@ -0,0 +1,34 @@
+package com.example.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASKS = "tasks";
+    public static final String PROJECTS = "projects";
+
+    /**
+     * Caffeine caches (W-TinyLFU admission, size and time bounded, with statistics).
+     * Wrapped so evictions issued inside a transaction only happen after it commits;
+     * otherwise a concurrent read could re-cache the row before the write is visible.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.spec}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.from(spec));
+        caffeineCacheManager.setCacheNames(List.of(TASKS, PROJECTS));
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.taskmanagement.config;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.service.ProjectStatsService;
+import jakarta.persistence.SequenceGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills an empty database with the synthetic dataset described by SeedProperties when the "seed" profile
+ * is active. Rows go in through plain JDBC batches, one transaction per batch, without entities, events
+ * or cache work; task ids come from task_seq in the same pooled blocks Hibernate uses, so tasks created
+ * through the API afterwards never collide with seeded ones. Runs before the application is ready, so
+ * the search index build that starts then covers the seeded tasks. Counter reconciliation is paused
+ * while it runs, since it would count projects whose tasks are still being inserted.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@EnableConfigurationProperties(SeedProperties.class)
+@RequiredArgsConstructor
+public class DataSeeder implements ApplicationRunner {
+    private static final int ALLOCATION_SIZE = taskIdAllocationSize();
+
+    private static final String[] VERBS = {
+            "Fix", "Add", "Update", "Review", "Refactor", "Document", "Test", "Deploy", "Investigate", "Remove"
+    };
+    private static final String[] NOUNS = {
+            "login page", "billing export", "search results", "API rate limits", "onboarding flow",
+            "audit log", "email templates", "dashboard charts", "database migration", "release notes",
+            "mobile layout", "payment retries", "user permissions", "error reporting", "cache invalidation"
+    };
+    private static final String[] WORDS = {
+            "customer", "reported", "slow", "after", "release", "needs", "follow", "up", "with", "design",
+            "backend", "frontend", "edge", "case", "timeout", "retry", "config", "staging", "production", "metrics"
+    };
+
+    private final SeedProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectStatsService projectStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from project", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Not seeding: the database already holds {} projects", existing);
+            return;
+        }
+        long started = System.nanoTime();
+        Random random = new Random(properties.randomSeed());
+
+        List<Long> projectIds = new ArrayList<>();
+        projectStatsService.withReconciliationPaused(() -> {
+            projectIds.addAll(insertProjects());
+            long[] sizes = projectSizes(random, projectIds.size());
+            long[][] statusCounts = insertTasks(random, projectIds, sizes);
+            insertStats(projectIds, statusCounts);
+        });
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Seeded {} projects and {} tasks in {} ms ({} tasks/s)", projectIds.size(), properties.tasks(),
+                millis, millis > 0 ? properties.tasks() * 1000 / millis : properties.tasks());
+    }
+
+    private List<Long> insertProjects() {
+        int batchSize = properties.batchSize();
+        for (int from = 0; from < properties.projects(); from += batchSize) {
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            for (int i = from; i < Math.min(from + batchSize, properties.projects()); i++) {
+                rows.add(new Object[]{
+                        "Project " + (i + 1) + ": " + NOUNS[i % NOUNS.length],
+                        "Synthetic project " + (i + 1)
+                });
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate("insert into project (name, description) values (?, ?)", rows));
+        }
+        return jdbcTemplate.queryForList("select id from project order by id", Long.class);
+    }
+
+    /**
+     * Tasks per project, proportional to log-normal weights so sizes have a long tail, summing to exactly
+     * the configured number of tasks.
+     */
+    private long[] projectSizes(Random random, int projects) {
+        long[] sizes = new long[projects];
+        if (projects == 0) {
+            return sizes;
+        }
+        double[] weights = new double[projects];
+        double total = 0;
+        for (int i = 0; i < projects; i++) {
+            weights[i] = Math.exp(properties.projectSkew() * random.nextGaussian());
+            total += weights[i];
+        }
+        long assigned = 0;
+        for (int i = 0; i < projects; i++) {
+            sizes[i] = (long) (properties.tasks() * weights[i] / total);
+            assigned += sizes[i];
+        }
+        for (long remainder = properties.tasks() - assigned; remainder > 0; remainder--) {
+            sizes[random.nextInt(projects)]++;
+        }
+        return sizes;
+    }
+
+    /**
+     * Inserts every project's tasks and returns the number per project and status (TODO, IN_PROGRESS, DONE).
+     */
+    private long[][] insertTasks(Random random, List<Long> projectIds, long[] sizes) {
+        long[][] statusCounts = new long[projectIds.size()][Task.Status.values().length];
+        TaskBatch batch = new TaskBatch(properties.batchSize());
+        long inserted = 0;
+        long nextReport = properties.tasks() / 10;
+        for (int p = 0; p < projectIds.size(); p++) {
+            for (long t = 0; t < sizes[p]; t++) {
+                Task.Status status = status(random);
+                statusCounts[p][status.ordinal()]++;
+                batch.add(projectIds.get(p), title(random, t), description(random), status);
+                if (batch.isFull()) {
+                    inserted += batch.flush();
+                    if (inserted >= nextReport && nextReport > 0) {
+                        log.info("Seeded {} of {} tasks", inserted, properties.tasks());
+                        nextReport += properties.tasks() / 10;
+                    }
+                }
+            }
+        }
+        batch.flush();
+        return statusCounts;
+    }
+
+    private void insertStats(List<Long> projectIds, long[][] statusCounts) {
+        int batchSize = properties.batchSize();
+        for (int from = 0; from < projectIds.size(); from += batchSize) {
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            for (int p = from; p < Math.min(from + batchSize, projectIds.size()); p++) {
+                long[] counts = statusCounts[p];
+                rows.add(new Object[]{
+                        projectIds.get(p),
+                        counts[0] + counts[1] + counts[2],
+                        counts[Task.Status.TODO.ordinal()],
+                        counts[Task.Status.IN_PROGRESS.ordinal()],
+                        counts[Task.Status.DONE.ordinal()]
+                });
+            }
+            // MERGE, as ProjectTaskStatsRepository.upsert writes counter rows
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "merge into project_task_stats (project_id, task_count, todo_count, in_progress_count, done_count)"
+                            + " key (project_id) values (?, ?, ?, ?, ?)", rows));
+        }
+    }
+
+    /**
+     * Takes ids from task_seq in whole blocks, read the way Hibernate's pooled optimizer reads them: each
+     * sequence value is the highest id of a block of ALLOCATION_SIZE ids. The sequence's initial value is
+     * not a block, so it is skipped. Ids left over in the last block are never used.
+     */
+    private long[] reserveTaskIds(int count) {
+        long[] ids = new long[count];
+        int reserved = 0;
+        while (reserved < count) {
+            int blocks = (count - reserved + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+            List<Long> highIds = jdbcTemplate.queryForList(
+                    "select next value for task_seq from system_range(1, ?)", Long.class, blocks);
+            for (long high : highIds) {
+                if (high < ALLOCATION_SIZE) {
+                    continue;
+                }
+                for (long id = high - ALLOCATION_SIZE + 1; id <= high && reserved < count; id++) {
+                    ids[reserved++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private Task.Status status(Random random) {
+        double draw = random.nextDouble();
+        if (draw < properties.todoShare()) {
+            return Task.Status.TODO;
+        }
+        return draw < properties.todoShare() + properties.inProgressShare() ? Task.Status.IN_PROGRESS : Task.Status.DONE;
+    }
+
+    private static String title(Random random, long number) {
+        return VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " #" + (number + 1);
+    }
+
+    private static String description(Random random) {
+        StringBuilder description = new StringBuilder();
+        int words = 4 + random.nextInt(12);
+        for (int i = 0; i < words; i++) {
+            description.append(i > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    private static int taskIdAllocationSize() {
+        try {
+            return Task.class.getDeclaredField("id").getAnnotation(SequenceGenerator.class).allocationSize();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Column arrays of the tasks waiting for the next JDBC batch.
+     */
+    private class TaskBatch {
+        private final long[] projectIds;
+        private final String[] titles;
+        private final String[] descriptions;
+        private final Task.Status[] statuses;
+        private int size;
+
+        TaskBatch(int capacity) {
+            projectIds = new long[capacity];
+            titles = new String[capacity];
+            descriptions = new String[capacity];
+            statuses = new Task.Status[capacity];
+        }
+
+        void add(long projectId, String title, String description, Task.Status status) {
+            projectIds[size] = projectId;
+            titles[size] = title;
+            descriptions[size] = description;
+            statuses[size] = status;
+            size++;
+        }
+
+        boolean isFull() {
+            return size == projectIds.length;
+        }
+
+        int flush() {
+            if (size == 0) {
+                return 0;
+            }
+            int rows = size;
+            long[] ids = reserveTaskIds(rows);
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "insert into task (id, title, description, status, project_id) values (?, ?, ?, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            statement.setLong(1, ids[i]);
+                            statement.setString(2, titles[i]);
+                            statement.setString(3, descriptions[i]);
+                            statement.setString(4, statuses[i].name());
+                            statement.setLong(5, projectIds[i]);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows;
+                        }
+                    }));
+            size = 0;
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.taskmanagement.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request body sizes per endpoint, alongside the http.server.requests latency timers Spring Boot records
+ * for every handler. Latency, throughput and errors per endpoint come from those timers' count and
+ * status/outcome tags; both are scraped from /actuator/prometheus.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+    public static final String REQUEST_SIZE = "http.server.request.size";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestSizeInterceptor(meterRegistry));
+    }
+
+    static final class RequestSizeInterceptor implements HandlerInterceptor {
+        private final MeterRegistry meterRegistry;
+        // One summary per method and route pattern, so after the first request it is a single map read
+        private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        RequestSizeInterceptor(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            long size = request.getContentLengthLong();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Chunked bodies have no declared length; they are not counted
+            if (size < 0 || pattern == null) {
+                return true;
+            }
+            String method = request.getMethod();
+            String uri = pattern.toString();
+            summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary.builder(REQUEST_SIZE)
+                            .description("Declared length of request bodies")
+                            .baseUnit("bytes")
+                            .tag("method", method)
+                            .tag("uri", uri)
+                            .register(meterRegistry))
+                    .record(size);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Synthetic dataset written at startup with the "seed" profile (app.seed.*).
+ *
+ * @param projects        number of projects
+ * @param tasks           number of tasks, spread over the projects with a long tail: most projects are small,
+ *                        a few hold a large share of the tasks
+ * @param projectSkew     spread of project sizes (sigma of a log-normal); 0 gives every project the same size
+ * @param todoShare       fraction of tasks in TODO
+ * @param inProgressShare fraction of tasks in IN_PROGRESS; the rest are DONE
+ * @param batchSize       rows per JDBC batch and per transaction
+ * @param randomSeed      seed of the generator, so the same settings produce the same data
+ */
+@ConfigurationProperties("app.seed")
+public record SeedProperties(
+        @DefaultValue("10000") int projects,
+        @DefaultValue("5000000") long tasks,
+        @DefaultValue("1.0") double projectSkew,
+        @DefaultValue("0.3") double todoShare,
+        @DefaultValue("0.15") double inProgressShare,
+        @DefaultValue("5000") int batchSize,
+        @DefaultValue("42") long randomSeed
+) {
+}
@@ -0,0 +1,44 @@
+package com.example.taskmanagement.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+    private final CacheManager cacheManager;
+
+    @GetMapping("/stats")
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator decorator) {
+                cache = decorator.getTargetCache();
+            }
+            if (cache instanceof CaffeineCache caffeineCache) {
+                var nativeCache = caffeineCache.getNativeCache();
+                CacheStats cacheStats = nativeCache.stats();
+                stats.put(name, Map.of(
+                        "size", nativeCache.estimatedSize(),
+                        "hits", cacheStats.hitCount(),
+                        "misses", cacheStats.missCount(),
+                        "hitRate", cacheStats.hitRate(),
+                        "evictions", cacheStats.evictionCount()
+                ));
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.event.ChangeRecord;
+import com.example.taskmanagement.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+    private static final Duration KEEP_ALIVE_INTERVAL = Duration.ofSeconds(15);
+
+    // One timer for all connections; each connection drops ticks it cannot take instead of holding up the others
+    private static final Flux<ServerSentEvent<Object>> KEEP_ALIVE = Flux.interval(KEEP_ALIVE_INTERVAL)
+            .onBackpressureDrop()
+            .map(tick -> ServerSentEvent.<Object>builder().comment("keep-alive").build())
+            .share();
+
+    private final ChangeFeedService changeFeedService;
+
+    @Value("${app.changes.buffer-size:1000}")
+    private int bufferSize;
+
+    /**
+     * Server-sent events for every committed change, optionally limited to one project. Each event id is
+     * the change's sequence number; a reconnecting client sends it back as Last-Event-ID (or lastEventId
+     * for clients that cannot set headers) and receives only the changes it missed. If those are no longer
+     * buffered, a "reset" event is sent first and the client should reload before applying further changes.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam,
+            @RequestParam(required = false) Long projectId) {
+        Long lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+
+        Flux<ChangeRecord> changes = changeFeedService.changesAfter(lastEventId);
+        if (projectId != null) {
+            changes = changes.filter(record -> record.concernsProject(projectId));
+        }
+        Flux<ServerSentEvent<Object>> events = changes
+                // A client that cannot keep up is disconnected and resumes from its last event id
+                .onBackpressureBuffer(bufferSize)
+                .map(record -> ServerSentEvent.<Object>builder()
+                        .id(Long.toString(record.seq()))
+                        .event(record.kind())
+                        .data(record.isReset() ? record.seq() : record)
+                        .build());
+
+        return Flux.merge(events, KEEP_ALIVE.onBackpressureDrop());
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.ProjectInfo;
+import com.example.taskmanagement.dto.ProjectSummary;
 import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.ProjectTaskStats;
 import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.service.ProjectStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -14,9 +18,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProjectController {
     private final ProjectService projectService;
+    private final ProjectStatsService projectStatsService;
 
     @GetMapping
-    public List<Project> getAllProjects() {
+    public List<ProjectSummary> getAllProjects() {
+        return projectService.getProjectSummaries();
+    }
+
+    @GetMapping(params = "embed=tasks")
+    public List<Project> getAllProjectsWithTasks() {
         return projectService.getAllProjects();
     }
 
@@ -27,6 +37,23 @@ public class ProjectController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * The project without its tasks; page those with GET /api/projects/{id}/tasks/page.
+     */
+    @GetMapping("/{id}/info")
+    public ResponseEntity<ProjectInfo> getProjectInfo(@PathVariable Long id) {
+        return projectService.getProjectInfo(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ProjectTaskStats> getProjectStats(@PathVariable Long id) {
+        return projectStatsService.getStats(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public ResponseEntity<Project> createProject(@Valid @RequestBody Project project) {
         return ResponseEntity.ok(projectService.createProject(project));
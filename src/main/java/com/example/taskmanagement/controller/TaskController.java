@@ -1,25 +1,88 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.BulkStatusChange;
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.dto.TaskPatch;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.dto.TaskSearchHit;
+import com.example.taskmanagement.service.TaskSearchService;
 import com.example.taskmanagement.service.TaskService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class TaskController {
     private final TaskService taskService;
+    private final TaskSearchService taskSearchService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/projects/{projectId}/tasks")
     public List<Task> getTasksByProject(@PathVariable Long projectId) {
         return taskService.getTasksByProjectId(projectId);
     }
 
+    @GetMapping("/projects/{projectId}/tasks/page")
+    public ResponseEntity<CursorPage<Task>> getTasksPageByProject(@PathVariable Long projectId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(taskService.getTasksPageByProjectId(projectId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Writes the project's tasks as a JSON array while they are read from the database.
+     */
+    @GetMapping(value = "/projects/{projectId}/tasks/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasksByProject(@PathVariable Long projectId) {
+        // Flushing after every task would turn each row into its own network write
+        ObjectWriter taskWriter = objectMapper.writerFor(Task.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                taskService.streamTasksByProjectId(projectId, task -> {
+                    try {
+                        taskWriter.writeValue(generator, task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/tasks/search")
+    public List<TaskSearchHit> searchTasks(@RequestParam("q") String query,
+                                           @RequestParam(required = false) Long projectId,
+                                           @RequestParam(required = false) Task.Status status,
+                                           @RequestParam(required = false) Integer limit) {
+        return taskSearchService.search(query, projectId, status, limit);
+    }
+
     @GetMapping("/tasks/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
         return taskService.getTaskById(id)
@@ -32,11 +95,56 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(projectId, task));
     }
 
+    @PostMapping("/projects/{projectId}/tasks/batch")
+    public ResponseEntity<Map<String, Object>> createTasks(@PathVariable Long projectId,
+                                                           @Valid @RequestBody List<Task> tasks) {
+        try {
+            List<Long> ids = taskService.createTasks(projectId, tasks).stream()
+                    .map(Task::getId)
+                    .toList();
+            return ResponseEntity.ok(Map.of(
+                    "projectId", projectId,
+                    "created", ids.size(),
+                    "ids", ids
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/tasks/{id}")
     public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody Task task) {
         return ResponseEntity.ok(taskService.updateTask(id, task));
     }
 
+    @PatchMapping("/tasks/{id}")
+    public ResponseEntity<Void> patchTask(@PathVariable Long id, @RequestBody TaskPatch patch) {
+        return taskService.patchTask(id, patch)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/tasks/bulk/status")
+    public ResponseEntity<Map<String, Integer>> bulkUpdateStatus(@RequestBody BulkStatusChange change) {
+        if (change.toStatus() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(Map.of("affected", taskService.bulkUpdateStatus(change.filter(), change.toStatus())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/tasks/bulk/delete")
+    public ResponseEntity<Map<String, Integer>> bulkDelete(@RequestBody TaskFilter filter) {
+        try {
+            return ResponseEntity.ok(Map.of("affected", taskService.bulkDelete(filter)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/tasks/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
         taskService.deleteTask(id);
@@ -0,0 +1,19 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+
+import java.util.List;
+
+/**
+ * Moves every task matching projectId/fromStatus/ids to toStatus.
+ */
+public record BulkStatusChange(
+        Long projectId,
+        Task.Status fromStatus,
+        List<Long> ids,
+        Task.Status toStatus
+) {
+    public TaskFilter filter() {
+        return new TaskFilter(projectId, fromStatus, ids);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanagement.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * nextCursor is opaque to clients and is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
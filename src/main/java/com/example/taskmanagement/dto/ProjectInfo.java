@@ -0,0 +1,11 @@
+package com.example.taskmanagement.dto;
+
+/**
+ * A project's own fields, without its tasks or counts; what the project cache holds.
+ */
+public record ProjectInfo(
+        Long id,
+        String name,
+        String description
+) {
+}
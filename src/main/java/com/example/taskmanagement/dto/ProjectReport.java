@@ -0,0 +1,18 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.event.ChangeRecord;
+import com.example.taskmanagement.model.Task;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the project_summary prompt needs in one payload: the project with its task counts,
+ * the newest tasks of each status and the project's most recent committed changes, oldest first.
+ */
+public record ProjectReport(
+        ProjectSummary project,
+        Map<Task.Status, List<TaskBrief>> newestTasks,
+        List<ChangeRecord> recentChanges
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanagement.dto;
+
+/**
+ * Project list entry: the project's own fields plus task counts by status, without the tasks themselves.
+ */
+public record ProjectSummary(
+        Long id,
+        String name,
+        String description,
+        Long taskCount,
+        Long todoCount,
+        Long inProgressCount,
+        Long doneCount
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.event.ChangeRecord;
+import com.example.taskmanagement.model.Task;
+
+import java.util.List;
+
+/**
+ * Tasks in one status: the total, a group per project with that project's count and newest tasks,
+ * and the most recent committed changes that moved tasks into or out of the status, oldest first.
+ */
+public record StatusReport(
+        Task.Status status,
+        long total,
+        List<ProjectGroup> projects,
+        List<ChangeRecord> recentChanges
+) {
+    public record ProjectGroup(
+            Long projectId,
+            String projectName,
+            long count,
+            List<TaskBrief> newestTasks
+    ) {
+    }
+}
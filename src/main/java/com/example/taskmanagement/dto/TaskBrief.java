@@ -0,0 +1,11 @@
+package com.example.taskmanagement.dto;
+
+/**
+ * A task as listed inside a report: its own fields only, without the project or status it is grouped under.
+ */
+public record TaskBrief(
+        Long id,
+        String title,
+        String description
+) {
+}
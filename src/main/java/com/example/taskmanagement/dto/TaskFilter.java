@@ -0,0 +1,18 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+
+import java.util.List;
+
+/**
+ * Selects tasks for bulk operations. Null fields do not filter; at least a project or ids must be given.
+ */
+public record TaskFilter(
+        Long projectId,
+        Task.Status status,
+        List<Long> ids
+) {
+    public boolean isNarrowed() {
+        return projectId != null || (ids != null && !ids.isEmpty());
+    }
+}
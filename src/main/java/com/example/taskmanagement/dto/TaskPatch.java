@@ -0,0 +1,13 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+
+/**
+ * Partial task update: null fields are left unchanged.
+ */
+public record TaskPatch(
+        String title,
+        String description,
+        Task.Status status
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+
+/**
+ * The columns a targeted task update needs to know about the row it changes.
+ */
+public record TaskRef(
+        Long projectId,
+        Task.Status status
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+
+public record TaskSearchHit(
+        Long id,
+        Long projectId,
+        String title,
+        String description,
+        Task.Status status,
+        double score
+) {
+}
@@ -0,0 +1,63 @@
+package com.example.taskmanagement.event;
+
+import com.example.taskmanagement.model.Task;
+
+import java.time.Instant;
+
+/**
+ * One entry of the change feed: a committed write event stamped with its position in the feed.
+ * kind is "task", "project" or "tasks" (a bulk operation or batch insert); change is the original event record.
+ * A "reset" entry carries no change: the changes before its seq are no longer available, so a reader
+ * resuming from an older position has to reload its state.
+ */
+public record ChangeRecord(
+        long seq,
+        Instant timestamp,
+        String kind,
+        Object change
+) {
+    public static final String RESET = "reset";
+
+    public static ChangeRecord reset(long seq) {
+        return new ChangeRecord(seq, Instant.now(), RESET, null);
+    }
+
+    public boolean isReset() {
+        return RESET.equals(kind);
+    }
+
+    public boolean concernsProject(Long projectId) {
+        if (isReset()) {
+            return true;
+        }
+        if (change instanceof TaskChangedEvent event) {
+            return projectId.equals(event.projectId());
+        }
+        if (change instanceof ProjectChangedEvent event) {
+            return projectId.equals(event.projectId());
+        }
+        if (change instanceof TasksBulkChangedEvent event) {
+            return event.projectIds().contains(projectId);
+        }
+        if (change instanceof TasksCreatedEvent event) {
+            return projectId.equals(event.projectId());
+        }
+        return false;
+    }
+
+    /**
+     * True if the change moved tasks into or out of the given status, or created or deleted tasks in it.
+     */
+    public boolean concernsStatus(Task.Status status) {
+        if (change instanceof TaskChangedEvent event) {
+            return status == event.status() || status == event.previousStatus();
+        }
+        if (change instanceof TasksBulkChangedEvent event) {
+            return status == event.status() || event.previousStatuses().contains(status);
+        }
+        if (change instanceof TasksCreatedEvent event) {
+            return event.statuses().contains(status);
+        }
+        return false;
+    }
+}
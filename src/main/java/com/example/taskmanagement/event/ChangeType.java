@@ -0,0 +1,5 @@
+package com.example.taskmanagement.event;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
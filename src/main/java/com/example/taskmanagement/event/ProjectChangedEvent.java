@@ -0,0 +1,18 @@
+package com.example.taskmanagement.event;
+
+import com.example.taskmanagement.model.Project;
+
+/**
+ * Published by ProjectService for every project write. Deleting a project also deletes its tasks;
+ * listeners get this single event rather than one TaskChangedEvent per task.
+ */
+public record ProjectChangedEvent(
+        ChangeType type,
+        Long projectId,
+        String name,
+        String description
+) {
+    public static ProjectChangedEvent of(ChangeType type, Project project) {
+        return new ProjectChangedEvent(type, project.getId(), project.getName(), project.getDescription());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanagement.event;
+
+import com.example.taskmanagement.model.Task;
+
+/**
+ * Published by TaskService for every task write. Carries a snapshot of the task's fields rather than
+ * the entity, so listeners running after commit never touch a managed or lazily loaded object.
+ * For partial updates (PATCH) a null title or description means the field was not changed.
+ */
+public record TaskChangedEvent(
+        ChangeType type,
+        Long taskId,
+        Long projectId,
+        String title,
+        String description,
+        Task.Status status,
+        Task.Status previousStatus,
+        boolean partial
+) {
+    public static TaskChangedEvent created(Task task, Long projectId) {
+        return new TaskChangedEvent(ChangeType.CREATED, task.getId(), projectId,
+                task.getTitle(), task.getDescription(), task.getStatus(), null, false);
+    }
+
+    public static TaskChangedEvent updated(Task task, Long projectId, Task.Status previousStatus) {
+        return new TaskChangedEvent(ChangeType.UPDATED, task.getId(), projectId,
+                task.getTitle(), task.getDescription(), task.getStatus(), previousStatus, false);
+    }
+
+    public static TaskChangedEvent deleted(Task task, Long projectId) {
+        return new TaskChangedEvent(ChangeType.DELETED, task.getId(), projectId,
+                task.getTitle(), task.getDescription(), null, task.getStatus(), false);
+    }
+
+    public static TaskChangedEvent patched(Long taskId, Long projectId, String title, String description,
+                                           Task.Status status, Task.Status previousStatus) {
+        return new TaskChangedEvent(ChangeType.UPDATED, taskId, projectId,
+                title, description, status, previousStatus, true);
+    }
+}
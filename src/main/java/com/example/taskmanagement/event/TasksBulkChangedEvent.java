@@ -0,0 +1,20 @@
+package com.example.taskmanagement.event;
+
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.model.Task;
+
+import java.util.Set;
+
+/**
+ * Published once per set-based bulk operation instead of one TaskChangedEvent per row.
+ * For UPDATED, status is the new status of every matched task; for DELETED it is null.
+ */
+public record TasksBulkChangedEvent(
+        ChangeType type,
+        TaskFilter filter,
+        Task.Status status,
+        int affected,
+        Set<Long> projectIds,
+        Set<Task.Status> previousStatuses
+) {
+}
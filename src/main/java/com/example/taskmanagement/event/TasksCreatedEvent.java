@@ -0,0 +1,24 @@
+package com.example.taskmanagement.event;
+
+import com.example.taskmanagement.model.Task;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published once per batch insert instead of one TaskChangedEvent per task. tasks holds the CREATED
+ * snapshot of every inserted task, in insertion order.
+ */
+public record TasksCreatedEvent(
+        Long projectId,
+        List<TaskChangedEvent> tasks
+) {
+    public Set<Task.Status> statuses() {
+        return tasks.stream()
+                .map(TaskChangedEvent::status)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
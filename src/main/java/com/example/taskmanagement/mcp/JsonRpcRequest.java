@@ -0,0 +1,115 @@
+package com.example.taskmanagement.mcp;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+
+/**
+ * A JSON-RPC request read token by token. The params are kept as buffered tokens rather than a map,
+ * so each method can bind them straight into the type it expects once the method name is known.
+ * paramsLength is the length of the params in the request body (bytes, or chars for a text source).
+ * A numeric id is kept as its raw JSON text, so the response carries the same id token.
+ */
+public record JsonRpcRequest(
+        Object id,
+        boolean hasId,
+        String method,
+        TokenBuffer params,
+        long paramsLength
+) {
+    public static final int PARSE_ERROR = -32700;
+    public static final int INVALID_REQUEST = -32600;
+    public static final int INTERNAL_ERROR = -32603;
+
+    /**
+     * Reads one request object; the parser must be positioned on (or just before) its START_OBJECT.
+     */
+    public static JsonRpcRequest read(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "JSON-RPC request must be an object");
+        }
+        Object id = null;
+        boolean hasId = false;
+        String method = null;
+        TokenBuffer params = null;
+        long paramsLength = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> {
+                    hasId = true;
+                    id = switch (value) {
+                        // Echoed as written: a number read into a Long or Double could come back changed
+                        case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> new RawValue(parser.getText());
+                        case VALUE_STRING -> parser.getText();
+                        default -> {
+                            parser.skipChildren();
+                            yield null;
+                        }
+                    };
+                }
+                case "method" -> method = parser.getValueAsString();
+                case "params" -> {
+                    if (value != JsonToken.VALUE_NULL) {
+                        long start = offset(parser.currentTokenLocation());
+                        params = new TokenBuffer(parser);
+                        params.copyCurrentStructure(parser);
+                        paramsLength = offset(parser.currentLocation()) - start;
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new JsonRpcRequest(id, hasId, method, params, paramsLength);
+    }
+
+    private static long offset(JsonLocation location) {
+        return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+    }
+
+    /**
+     * A notification is a request without an id; it is executed but never answered.
+     */
+    public boolean isNotification() {
+        return !hasId;
+    }
+
+    /**
+     * The value of a top-level string field of the params without binding them, e.g. the tool name of
+     * a tools/call. Returns null if there are no params or no such string field.
+     */
+    public String paramsField(String name) throws IOException {
+        JsonParser parser = paramsParser();
+        if (parser == null || parser.currentToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (field.equals(name)) {
+                return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    /**
+     * A parser over the params, positioned on their first token, or null if the request had none.
+     */
+    public JsonParser paramsParser() throws IOException {
+        if (params == null) {
+            return null;
+        }
+        JsonParser parser = params.asParser();
+        parser.nextToken();
+        return parser;
+    }
+}
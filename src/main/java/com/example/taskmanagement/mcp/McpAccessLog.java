@@ -0,0 +1,309 @@
+package com.example.taskmanagement.mcp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured access log for MCP calls, written to the "mcp.access" logger as one JSON object per line.
+ * Request threads only decide whether to sample a call and put a small entry holding references to its
+ * arguments into a bounded ring buffer; a background thread formats the arguments and does the log I/O.
+ * A request thread never waits: when the buffer is full the entry is dropped and counted. Arguments larger
+ * than maxBufferedArgumentBytes are not held at all, and formatting stops at maxArgumentChars.
+ */
+@Slf4j
+@Component
+public class McpAccessLog implements DisposableBean {
+    private static final Logger ACCESS = LoggerFactory.getLogger("mcp.access");
+
+    public enum Outcome {
+        OK, INVALID_PARAMS, METHOD_NOT_FOUND, ERROR
+    }
+
+    /**
+     * arguments is logged as JSON by the writer thread, so it must not be modified after the call.
+     */
+    private record Entry(
+            long timestamp,
+            String method,
+            String name,
+            String sessionId,
+            Object arguments,
+            long argumentLength,
+            long durationNanos,
+            Outcome outcome,
+            String error
+    ) {}
+
+    private final McpAccessLogProperties properties;
+    private final ObjectMapper objectMapper;
+    private final long slowNanos;
+
+    // Multi-producer, single-consumer ring: producers claim a sequence with a CAS on tail and then publish
+    // the slot; the writer empties the slot before advancing head, which is what frees it for reuse
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+    // Set by the writer before it parks on an empty buffer; producers unpark it only then
+    private volatile boolean writerWaiting;
+
+    public McpAccessLog(McpAccessLogProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.slowNanos = properties.slowThreshold().toNanos();
+        int capacity = Integer.highestOneBit(Math.max(properties.bufferSize(), 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.writer = new Thread(this::drain, "mcp-access-log");
+        this.writer.setDaemon(true);
+        if (properties.enabled()) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Records a finished call whose argument size is not known; the arguments are always kept.
+     */
+    public void record(String method, String name, String sessionId, Object arguments, long durationNanos,
+                       Outcome outcome, String error) {
+        record(method, name, sessionId, arguments, -1, durationNanos, outcome, error);
+    }
+
+    /**
+     * Records a finished call. name is the tool, prompt or resource the call was about, if any; tools/call
+     * is sampled by tool name and every other method by the method. argumentLength is the size of the
+     * arguments in the request, or -1 if not known.
+     */
+    public void record(String method, String name, String sessionId, Object arguments, long argumentLength,
+                       long durationNanos, Outcome outcome, String error) {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (outcome == Outcome.OK && durationNanos < slowNanos) {
+            double rate = properties.sampleRate(name != null && "tools/call".equals(method) ? name : method);
+            if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+                sampledOut.incrementAndGet();
+                return;
+            }
+        }
+        if (argumentLength > properties.maxBufferedArgumentBytes()) {
+            arguments = null;
+        }
+        offer(new Entry(System.currentTimeMillis(), method, name, sessionId, arguments, argumentLength,
+                durationNanos, outcome, error));
+    }
+
+    private void offer(Entry entry) {
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head.get() >= slots.length()) {
+                dropped.incrementAndGet();
+                return;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        // A full fence, so the writer either sees the entry or is seen to be waiting
+        slots.set((int) (claimed & mask), entry);
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drain() {
+        StringWriter line = new StringWriter(256);
+        while (running || head.get() != tail.get()) {
+            long next = head.get();
+            int index = (int) (next & mask);
+            Entry entry = slots.get(index);
+            if (entry == null) {
+                // Empty, or a producer has claimed the slot and not yet published it
+                if (!running && next == tail.get()) {
+                    break;
+                }
+                writerWaiting = true;
+                if (slots.get(index) == null && running) {
+                    LockSupport.park(this);
+                }
+                writerWaiting = false;
+                continue;
+            }
+            slots.lazySet(index, null);
+            head.lazySet(next + 1);
+            try {
+                line.getBuffer().setLength(0);
+                write(entry, line);
+                ACCESS.info(line.toString());
+                written.incrementAndGet();
+            } catch (Exception e) {
+                log.warn("Could not write MCP access log entry for {}: {}", entry.method(), e.getMessage());
+            }
+        }
+    }
+
+    private void write(Entry entry, StringWriter line) throws IOException {
+        try (JsonGenerator gen = objectMapper.createGenerator(line)) {
+            gen.writeStartObject();
+            gen.writeStringField("ts", Instant.ofEpochMilli(entry.timestamp()).toString());
+            gen.writeStringField("method", entry.method());
+            if (entry.name() != null) {
+                gen.writeStringField("name", entry.name());
+            }
+            if (entry.sessionId() != null) {
+                gen.writeStringField("session", entry.sessionId());
+            }
+            gen.writeNumberField("durationMicros", TimeUnit.NANOSECONDS.toMicros(entry.durationNanos()));
+            gen.writeStringField("outcome", entry.outcome().name().toLowerCase(Locale.ROOT));
+            if (entry.error() != null) {
+                gen.writeStringField("error", entry.error());
+            }
+            if (entry.arguments() != null) {
+                gen.writeStringField("arguments", argumentsJson(entry.arguments()));
+            } else if (entry.argumentLength() > properties.maxBufferedArgumentBytes()) {
+                gen.writeNumberField("argumentsOmitted", entry.argumentLength());
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * The arguments as JSON, cut off at maxArgumentChars. Serialization is abandoned once the limit is
+     * reached, so a huge argument costs no more than a short one.
+     */
+    private String argumentsJson(Object arguments) throws IOException {
+        BoundedWriter json = new BoundedWriter(properties.maxArgumentChars());
+        try {
+            objectMapper.writeValue(json, arguments);
+        } catch (IOException e) {
+            if (!json.full) {
+                throw e;
+            }
+        }
+        return json.full ? json.text + "..." : json.text.toString();
+    }
+
+    /**
+     * Keeps the first limit chars written to it. The write that reaches the limit fails, which ends the
+     * serialization; later writes, e.g. the generator flushing on close, are ignored.
+     */
+    private static final class BoundedWriter extends Writer {
+        private final StringBuilder text;
+        private final int limit;
+        private boolean full;
+
+        BoundedWriter(int limit) {
+            this.text = new StringBuilder(Math.min(limit, 256));
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (full) {
+                return;
+            }
+            int room = limit - text.length();
+            text.append(chars, offset, Math.min(length, room));
+            if (length > room) {
+                full = true;
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            if (full) {
+                return;
+            }
+            int room = limit - text.length();
+            text.append(string, offset, offset + Math.min(length, room));
+            if (length > room) {
+                full = true;
+                throw new LimitReachedException();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class LimitReachedException extends IOException {
+        LimitReachedException() {
+            super("Argument length limit reached");
+        }
+
+        // Thrown once per cut-off entry as control flow; the stack trace would never be read
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * The outcome of a plain HTTP call from its response; a null response means the handler threw.
+     */
+    public static Outcome outcomeOf(ResponseEntity<?> response) {
+        if (response == null || response.getStatusCode().is5xxServerError()) {
+            return Outcome.ERROR;
+        }
+        return response.getStatusCode().is4xxClientError() ? Outcome.INVALID_PARAMS : Outcome.OK;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("written", written.get());
+        stats.put("sampledOut", sampledOut.get());
+        stats.put("dropped", dropped.get());
+        stats.put("pending", tail.get() - head.get());
+        return stats;
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops the writer once it has written out what is already buffered.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanagement.mcp;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings of the MCP access log (app.mcp.access-log.*).
+ *
+ * @param bufferSize       entries waiting for the writer; rounded up to a power of two. When full, new entries are dropped
+ * @param sampleRate       fraction of successful calls that are logged, 0.0 to 1.0
+ * @param sampleRates      per tool name (tools/call) or method (everything else) overrides of sampleRate
+ * @param slowThreshold    calls taking at least this long are always logged, as are failed calls
+ * @param maxArgumentChars longer argument JSON is cut off at this length
+ * @param maxBufferedArgumentBytes arguments that took more than this in the request are not kept for the
+ *                         writer; their entry records only the size
+ */
+@ConfigurationProperties("app.mcp.access-log")
+public record McpAccessLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("1.0") double sampleRate,
+        Map<String, Double> sampleRates,
+        @DefaultValue("PT0.5S") Duration slowThreshold,
+        @DefaultValue("512") int maxArgumentChars,
+        @DefaultValue("65536") long maxBufferedArgumentBytes
+) {
+    public McpAccessLogProperties {
+        sampleRates = sampleRates != null ? Map.copyOf(sampleRates) : Map.of();
+    }
+
+    public double sampleRate(String key) {
+        return sampleRates.getOrDefault(key, sampleRate);
+    }
+}
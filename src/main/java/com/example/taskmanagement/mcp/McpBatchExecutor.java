@@ -0,0 +1,116 @@
+package com.example.taskmanagement.mcp;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the calls of a JSON-RPC batch. Consecutive read-only calls run concurrently on a bounded pool;
+ * a write waits for every earlier call to finish and then runs alone on the caller's thread, so writes
+ * keep their submission order and later reads see them.
+ * <p>
+ * With spring.threads.virtual.enabled every read-only call gets its own virtual thread instead. A semaphore
+ * still caps how many run at once at app.mcp.batch.concurrency, so a large batch queues for permits, where
+ * a waiting virtual thread unmounts. It does not wait inside the connection pool or the JDBC driver.
+ */
+@Component
+public class McpBatchExecutor implements DisposableBean {
+
+    public record Step<R>(boolean readOnly, Supplier<R> action) {}
+
+    private final ExecutorService executor;
+    // Only in virtual thread mode; the platform pool is bounded by its size
+    private final Semaphore permits;
+
+    public McpBatchExecutor(@Value("${app.mcp.batch.concurrency:8}") int concurrency,
+                            @Value("${app.mcp.batch.queue-capacity:1000}") int queueCapacity,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mcp-batch-", 1).factory());
+            this.permits = new Semaphore(concurrency);
+            return;
+        }
+        this.permits = null;
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mcp-batch-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // When the pool and its queue are full, the request thread runs the call itself
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    /**
+     * Runs all steps and returns their results in step order. Actions are expected to turn their own
+     * failures into results; an exception thrown by one is rethrown here.
+     */
+    public <R> List<R> run(List<Step<R>> steps) {
+        Object[] results = new Object[steps.size()];
+        List<Future<?>> inFlight = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            Step<R> step = steps.get(i);
+            int index = i;
+            if (step.readOnly() && steps.size() > 1) {
+                inFlight.add(executor.submit(() -> results[index] = runConcurrently(step)));
+            } else {
+                awaitAll(inFlight);
+                results[index] = step.action().get();
+            }
+        }
+        awaitAll(inFlight);
+
+        List<R> ordered = new ArrayList<>(results.length);
+        for (Object result : results) {
+            @SuppressWarnings("unchecked")
+            R typed = (R) result;
+            ordered.add(typed);
+        }
+        return ordered;
+    }
+
+    private <R> R runConcurrently(Step<R> step) throws InterruptedException {
+        if (permits == null) {
+            return step.action().get();
+        }
+        permits.acquire();
+        try {
+            return step.action().get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while waiting for batch calls", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException(e.getCause());
+        } finally {
+            futures.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -1,5 +1,12 @@
 package com.example.taskmanagement.mcp;
 
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.ProjectReport;
+import com.example.taskmanagement.dto.StatusReport;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.service.ReportService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,8 +14,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * MCP HTTP Controller
@@ -22,6 +29,9 @@ public class McpController {
 
     private final McpServerConfiguration.McpToolRegistry toolRegistry;
     private final ObjectMapper objectMapper;
+    private final McpResourceCache resourceCache;
+    private final ReportService reportService;
+    private final McpAccessLog accessLog;
 
     /**
      * Initialize the MCP connection
@@ -59,20 +69,11 @@ public class McpController {
      * List available tools
      */
     @PostMapping(value = "/tools/list", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> listTools() {
+    public ResponseEntity<byte[]> listTools() {
         log.info("MCP tools/list request");
-
-        List<Map<String, Object>> tools = toolRegistry.getAllTools().values().stream()
-                .map(tool -> {
-                    Map<String, Object> toolDef = new HashMap<>();
-                    toolDef.put("name", tool.name());
-                    toolDef.put("description", tool.description());
-                    toolDef.put("inputSchema", generateInputSchema(tool.name()));
-                    return toolDef;
-                })
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(Map.of("tools", tools));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(toolRegistry.getToolsListJson());
     }
 
     /**
@@ -125,68 +126,93 @@ public class McpController {
      * Get a specific prompt
      */
     @PostMapping(value = "/prompts/get", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> getPrompt(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<Map<String, Object>> getPrompt(@RequestBody Map<String, Object> request)
+            throws JsonProcessingException {
         String name = (String) request.get("name");
         @SuppressWarnings("unchecked")
         Map<String, Object> arguments = (Map<String, Object>) request.getOrDefault("arguments", Map.of());
 
-        log.info("MCP prompts/get request: name={}, arguments={}", name, arguments);
+        long started = System.nanoTime();
+        ResponseEntity<Map<String, Object>> response = null;
+        try {
+            response = prompt(name, arguments);
+            return response;
+        } finally {
+            accessLog.record("prompts/get", name, null, arguments, System.nanoTime() - started,
+                McpAccessLog.outcomeOf(response), null);
+        }
+    }
 
+    private ResponseEntity<Map<String, Object>> prompt(String name, Map<String, Object> arguments)
+            throws JsonProcessingException {
         String description;
         List<Map<String, Object>> messages = new ArrayList<>();
 
-        switch (name) {
-            case "project_summary" -> {
-                description = "Generates a comprehensive summary of a project";
-                Long projectId = getLong(arguments, "projectId");
-                messages.add(Map.of(
-                    "role", "user",
-                    "content", Map.of(
-                        "type", "text",
-                        "text", String.format(
-                            "Please provide a comprehensive summary of project ID %d including " +
-                            "all tasks, their current status, and any notable insights.",
-                            projectId
+        try {
+            switch (name) {
+                case "project_summary" -> {
+                    description = "Generates a comprehensive summary of a project";
+                    Long projectId = getLong(arguments, "projectId");
+                    ProjectReport report = reportService.projectReport(projectId, null, null)
+                        .orElseThrow(() -> new McpInvalidParamsException("Project not found with id: " + projectId));
+                    messages.add(Map.of(
+                        "role", "user",
+                        "content", Map.of(
+                            "type", "text",
+                            "text", String.format(
+                                "Please provide a comprehensive summary of project ID %d including " +
+                                "all tasks, their current status, and any notable insights. " +
+                                "Its task counts, newest tasks per status and recent changes are below; " +
+                                "only call listTasks if you need tasks beyond these.%n%n%s",
+                                projectId, objectMapper.writeValueAsString(report)
+                            )
                         )
-                    )
-                ));
-            }
-            case "task_report" -> {
-                description = "Generates a report of tasks by status";
-                String status = (String) arguments.getOrDefault("status", "TODO");
-                messages.add(Map.of(
-                    "role", "user",
-                    "content", Map.of(
-                        "type", "text",
-                        "text", String.format(
-                            "Generate a detailed report of all tasks with status '%s'. " +
-                            "Include task titles, descriptions, and the projects they belong to.",
-                            status
+                    ));
+                }
+                case "task_report" -> {
+                    description = "Generates a report of tasks by status";
+                    String status = (String) arguments.getOrDefault("status", "TODO");
+                    StatusReport report = reportService.statusReport(parseStatus(status), null, null, null, null);
+                    messages.add(Map.of(
+                        "role", "user",
+                        "content", Map.of(
+                            "type", "text",
+                            "text", String.format(
+                                "Generate a detailed report of all tasks with status '%s'. " +
+                                "Include task titles, descriptions, and the projects they belong to. " +
+                                "The total, per-project counts with each project's newest tasks and recent changes " +
+                                "are below; call statusReport or searchTasksByStatus for more.%n%n%s",
+                                status, objectMapper.writeValueAsString(report)
+                            )
                         )
-                    )
-                ));
-            }
-            case "project_planning" -> {
-                description = "Helps plan a new project";
-                String projectName = (String) arguments.get("projectName");
-                messages.add(Map.of(
-                    "role", "user",
-                    "content", Map.of(
-                        "type", "text",
-                        "text", String.format(
-                            "I'm planning a new project called '%s'. Can you help me break it down " +
-                            "into manageable tasks? Please suggest appropriate task titles, descriptions, " +
-                            "and recommended statuses.",
-                            projectName
+                    ));
+                }
+                case "project_planning" -> {
+                    description = "Helps plan a new project";
+                    String projectName = (String) arguments.get("projectName");
+                    messages.add(Map.of(
+                        "role", "user",
+                        "content", Map.of(
+                            "type", "text",
+                            "text", String.format(
+                                "I'm planning a new project called '%s'. Can you help me break it down " +
+                                "into manageable tasks? Please suggest appropriate task titles, descriptions, " +
+                                "and recommended statuses.",
+                                projectName
+                            )
                         )
-                    )
-                ));
-            }
-            default -> {
-                return ResponseEntity.badRequest().body(Map.of(
-                    "error", "Unknown prompt: " + name
-                ));
+                    ));
+                }
+                default -> {
+                    return ResponseEntity.badRequest().body(Map.of(
+                        "error", "Unknown prompt: " + name
+                    ));
+                }
             }
+        } catch (McpInvalidParamsException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage()
+            ));
         }
 
         return ResponseEntity.ok(Map.of(
@@ -199,37 +225,24 @@ public class McpController {
      * List available resources
      */
     @PostMapping(value = "/resources/list", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> listResources() {
+    public ResponseEntity<Map<String, Object>> listResources(@RequestBody(required = false) Map<String, Object> request) {
         log.info("MCP resources/list request");
 
-        List<Map<String, Object>> resources = Arrays.asList(
-            Map.of(
-                "uri", "task://projects",
-                "name", "All Projects",
-                "description", "List of all projects in the system",
-                "mimeType", "application/json"
-            ),
-            Map.of(
-                "uri", "task://tasks/todo",
-                "name", "TODO Tasks",
-                "description", "All tasks with TODO status",
-                "mimeType", "application/json"
-            ),
-            Map.of(
-                "uri", "task://tasks/in_progress",
-                "name", "In Progress Tasks",
-                "description", "All tasks currently in progress",
-                "mimeType", "application/json"
-            ),
-            Map.of(
-                "uri", "task://tasks/done",
-                "name", "Completed Tasks",
-                "description", "All completed tasks",
-                "mimeType", "application/json"
-            )
-        );
+        CursorPage<Map<String, Object>> page;
+        try {
+            page = resourceCache.listResources(request != null ? (String) request.get("cursor") : null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "error", e.getMessage()
+            ));
+        }
 
-        return ResponseEntity.ok(Map.of("resources", resources));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("resources", page.items());
+        if (page.nextCursor() != null) {
+            result.put("nextCursor", page.nextCursor());
+        }
+        return ResponseEntity.ok(result);
     }
 
     /**
@@ -238,33 +251,38 @@ public class McpController {
     @PostMapping(value = "/resources/read", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> readResource(@RequestBody Map<String, Object> request) {
         String uri = (String) request.get("uri");
-        log.info("MCP resources/read request: uri={}", uri);
+        long started = System.nanoTime();
+        ResponseEntity<Map<String, Object>> response = null;
+        try {
+            response = resource(uri, (String) request.get("cursor"));
+            return response;
+        } finally {
+            accessLog.record("resources/read", uri, null, request, System.nanoTime() - started,
+                McpAccessLog.outcomeOf(response), null);
+        }
+    }
 
+    private ResponseEntity<Map<String, Object>> resource(String uri, String cursor) {
         try {
-            String content;
-            if (uri.equals("task://projects")) {
-                McpToolsConfiguration.ListProjectsRequest req = new McpToolsConfiguration.ListProjectsRequest();
-                Object result = toolRegistry.getTool("listProjects").function().apply(req);
-                content = objectMapper.writeValueAsString(result);
-            } else if (uri.startsWith("task://tasks/")) {
-                String status = uri.substring("task://tasks/".length()).toUpperCase();
-                McpToolsConfiguration.SearchTasksByStatusRequest req =
-                    new McpToolsConfiguration.SearchTasksByStatusRequest(status);
-                Object result = toolRegistry.getTool("searchTasksByStatus").function().apply(req);
-                content = objectMapper.writeValueAsString(result);
-            } else {
+            McpResourceCache.ResourcePage page;
+            try {
+                page = resourceCache.read(uri, cursor);
+            } catch (IllegalArgumentException e) {
                 return ResponseEntity.badRequest().body(Map.of(
-                    "error", "Unknown resource URI: " + uri
+                    "error", e.getMessage()
                 ));
             }
 
-            return ResponseEntity.ok(Map.of(
-                "contents", List.of(Map.of(
-                    "uri", uri,
-                    "mimeType", "application/json",
-                    "text", content
-                ))
-            ));
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("contents", List.of(Map.of(
+                "uri", uri,
+                "mimeType", "application/json",
+                "text", page.text()
+            )));
+            if (page.nextCursor() != null) {
+                result.put("nextCursor", page.nextCursor());
+            }
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             log.error("Error reading resource {}: {}", uri, e.getMessage(), e);
             return ResponseEntity.ok(Map.of(
@@ -281,44 +299,37 @@ public class McpController {
      * Call a specific tool
      */
     @PostMapping(value = "/tools/call", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> callTool(@RequestBody Map<String, Object> request) {
-        String toolName = (String) request.get("name");
-        @SuppressWarnings("unchecked")
-        Map<String, Object> arguments = (Map<String, Object>) request.get("arguments");
-
-        log.info("MCP tools/call request: tool={}, arguments={}", toolName, arguments);
-
-        McpServerConfiguration.McpToolDefinition tool = toolRegistry.getTool(toolName);
-        if (tool == null) {
+    public ResponseEntity<Object> callTool(@RequestBody byte[] body) {
+        McpServerConfiguration.McpToolCall call;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            parser.nextToken();
+            call = toolRegistry.readToolCall(parser);
+        } catch (McpInvalidParamsException e) {
+            accessLog.record("tools/call", null, null, null, 0, McpAccessLog.Outcome.INVALID_PARAMS, e.getMessage());
             return ResponseEntity.badRequest().body(Map.of(
-                    "error", "Tool not found: " + toolName
+                    "error", e.getMessage(),
+                    "code", McpInvalidParamsException.CODE
+            ));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "Malformed request: " + e.getMessage(),
+                    "code", JsonRpcRequest.PARSE_ERROR
             ));
         }
 
+        String toolName = call.tool().name();
+        long started = System.nanoTime();
         try {
-            // Convert arguments to the appropriate request type
-            Object input = convertArguments(toolName, arguments);
-            Object result = tool.function().apply(input);
-
-            List<Map<String, Object>> content = new ArrayList<>();
-            content.add(Map.of(
-                    "type", "text",
-                    "text", objectMapper.writeValueAsString(result)
-            ));
-
-            return ResponseEntity.ok(Map.of(
-                    "content", content,
-                    "isError", false
-            ));
+            Object result = call.invoke();
+            accessLog.record("tools/call", toolName, null, call.arguments(), body.length, System.nanoTime() - started,
+                    McpAccessLog.Outcome.OK, null);
+            // Serialized once, while the response is written
+            return ResponseEntity.ok(toolRegistry.toResult(call.tool(), result));
         } catch (Exception e) {
+            accessLog.record("tools/call", toolName, null, call.arguments(), body.length, System.nanoTime() - started,
+                    McpAccessLog.Outcome.ERROR, e.getMessage());
             log.error("Error calling tool {}: {}", toolName, e.getMessage(), e);
-            return ResponseEntity.ok(Map.of(
-                    "content", List.of(Map.of(
-                            "type", "text",
-                            "text", "Error: " + e.getMessage()
-                    )),
-                    "isError", true
-            ));
+            return ResponseEntity.ok(McpToolResult.error(e));
         }
     }
 
@@ -346,141 +357,22 @@ public class McpController {
         ));
     }
 
-    /**
-     * Generate input schema for a tool
-     */
-    private Map<String, Object> generateInputSchema(String toolName) {
-        Map<String, Object> schema = new HashMap<>();
-        schema.put("type", "object");
-
-        Map<String, Object> properties = new HashMap<>();
-        List<String> required = new ArrayList<>();
-
-        // Define schemas for each tool
-        switch (toolName) {
-            case "listProjects":
-                // No parameters needed
-                break;
-            case "getProject":
-                properties.put("id", Map.of("type", "number", "description", "Project ID"));
-                required.add("id");
-                break;
-            case "createProject":
-                properties.put("name", Map.of("type", "string", "description", "Project name"));
-                properties.put("description", Map.of("type", "string", "description", "Project description"));
-                required.add("name");
-                break;
-            case "updateProject":
-                properties.put("id", Map.of("type", "number", "description", "Project ID"));
-                properties.put("name", Map.of("type", "string", "description", "New project name"));
-                properties.put("description", Map.of("type", "string", "description", "New project description"));
-                required.add("id");
-                required.add("name");
-                break;
-            case "deleteProject":
-                properties.put("id", Map.of("type", "number", "description", "Project ID to delete"));
-                required.add("id");
-                break;
-            case "listTasks":
-                properties.put("projectId", Map.of("type", "number", "description", "Project ID"));
-                required.add("projectId");
-                break;
-            case "getTask":
-                properties.put("id", Map.of("type", "number", "description", "Task ID"));
-                required.add("id");
-                break;
-            case "createTask":
-                properties.put("projectId", Map.of("type", "number", "description", "Project ID"));
-                properties.put("title", Map.of("type", "string", "description", "Task title"));
-                properties.put("description", Map.of("type", "string", "description", "Task description"));
-                properties.put("status", Map.of("type", "string", "description", "Task status (TODO, IN_PROGRESS, DONE)"));
-                required.add("projectId");
-                required.add("title");
-                break;
-            case "updateTask":
-                properties.put("id", Map.of("type", "number", "description", "Task ID"));
-                properties.put("title", Map.of("type", "string", "description", "New task title"));
-                properties.put("description", Map.of("type", "string", "description", "New task description"));
-                properties.put("status", Map.of("type", "string", "description", "New task status"));
-                required.add("id");
-                required.add("title");
-                break;
-            case "deleteTask":
-                properties.put("id", Map.of("type", "number", "description", "Task ID to delete"));
-                required.add("id");
-                break;
-            case "searchTasksByStatus":
-                properties.put("status", Map.of("type", "string", "description", "Status to search for (TODO, IN_PROGRESS, DONE)"));
-                required.add("status");
-                break;
-        }
-
-        schema.put("properties", properties);
-        if (!required.isEmpty()) {
-            schema.put("required", required);
-        }
-
-        return schema;
-    }
-
-    /**
-     * Convert raw arguments map to typed request object
-     */
-    private Object convertArguments(String toolName, Map<String, Object> arguments) {
-        if (arguments == null) {
-            arguments = new HashMap<>();
+    private static Task.Status parseStatus(String status) {
+        try {
+            return Task.Status.valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new McpInvalidParamsException("Unknown status: " + status);
         }
-
-        return switch (toolName) {
-            case "listProjects" -> new McpToolsConfiguration.ListProjectsRequest();
-            case "getProject" -> new McpToolsConfiguration.GetProjectRequest(
-                    getLong(arguments, "id")
-            );
-            case "createProject" -> new McpToolsConfiguration.CreateProjectRequest(
-                    (String) arguments.get("name"),
-                    (String) arguments.get("description")
-            );
-            case "updateProject" -> new McpToolsConfiguration.UpdateProjectRequest(
-                    getLong(arguments, "id"),
-                    (String) arguments.get("name"),
-                    (String) arguments.get("description")
-            );
-            case "deleteProject" -> new McpToolsConfiguration.DeleteProjectRequest(
-                    getLong(arguments, "id")
-            );
-            case "listTasks" -> new McpToolsConfiguration.ListTasksRequest(
-                    getLong(arguments, "projectId")
-            );
-            case "getTask" -> new McpToolsConfiguration.GetTaskRequest(
-                    getLong(arguments, "id")
-            );
-            case "createTask" -> new McpToolsConfiguration.CreateTaskRequest(
-                    getLong(arguments, "projectId"),
-                    (String) arguments.get("title"),
-                    (String) arguments.get("description"),
-                    (String) arguments.get("status")
-            );
-            case "updateTask" -> new McpToolsConfiguration.UpdateTaskRequest(
-                    getLong(arguments, "id"),
-                    (String) arguments.get("title"),
-                    (String) arguments.get("description"),
-                    (String) arguments.get("status")
-            );
-            case "deleteTask" -> new McpToolsConfiguration.DeleteTaskRequest(
-                    getLong(arguments, "id")
-            );
-            case "searchTasksByStatus" -> new McpToolsConfiguration.SearchTasksByStatusRequest(
-                    (String) arguments.get("status")
-            );
-            default -> throw new IllegalArgumentException("Unknown tool: " + toolName);
-        };
     }
 
     private Long getLong(Map<String, Object> map, String key) {
         Object value = map.get(key);
         if (value == null) return null;
         if (value instanceof Number) return ((Number) value).longValue();
-        return Long.parseLong(value.toString());
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            throw new McpInvalidParamsException(key + " must be an integer: " + value, e);
+        }
     }
 }
-
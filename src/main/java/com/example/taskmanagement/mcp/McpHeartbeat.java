@@ -0,0 +1,115 @@
+package com.example.taskmanagement.mcp;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps every MCP SSE connection alive with one timer instead of one per connection. Sessions are spread
+ * over the slots of a wheel; each tick sends the same pre-built ping to the sessions of one slot, so every
+ * session is pinged once per interval and the work is spread evenly across it. Ticks are jittered so
+ * several instances started together do not ping in lockstep.
+ */
+@Slf4j
+@Component
+public class McpHeartbeat implements DisposableBean {
+    static final ServerSentEvent<String> PING = ServerSentEvent.<String>builder()
+            .event("ping")
+            .data("{\"jsonrpc\":\"2.0\",\"method\":\"ping\"}")
+            .build();
+
+    private static final double JITTER = 0.2;
+
+    private final McpSessionRegistry sessionRegistry;
+    private final long tickNanos;
+    private final ScheduledExecutorService scheduler;
+    private int slot;
+
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong pingsSent = new AtomicLong();
+    private final AtomicLong pingsSkipped = new AtomicLong();
+    private volatile long lastFanOutNanos;
+    private volatile long maxFanOutNanos;
+
+    public McpHeartbeat(McpSessionRegistry sessionRegistry,
+                        @Value("${app.mcp.sse.heartbeat-interval:PT30S}") Duration interval) {
+        this.sessionRegistry = sessionRegistry;
+        this.tickNanos = interval.toNanos() / sessionRegistry.heartbeatSlotCount();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcp-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        scheduleNextTick();
+    }
+
+    private void scheduleNextTick() {
+        double factor = 1 + JITTER * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        scheduler.schedule(this::tick, (long) (tickNanos * factor), TimeUnit.NANOSECONDS);
+    }
+
+    private void tick() {
+        try {
+            long started = System.nanoTime();
+            for (McpSession session : sessionRegistry.heartbeatSlot(slot)) {
+                if (session.sendHeartbeat(PING)) {
+                    pingsSent.incrementAndGet();
+                } else {
+                    pingsSkipped.incrementAndGet();
+                }
+            }
+            slot = (slot + 1) % sessionRegistry.heartbeatSlotCount();
+            long fanOut = System.nanoTime() - started;
+            lastFanOutNanos = fanOut;
+            if (fanOut > maxFanOutNanos) {
+                maxFanOutNanos = fanOut;
+            }
+            ticks.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.warn("MCP heartbeat tick failed", e);
+        } finally {
+            if (!scheduler.isShutdown()) {
+                scheduleNextTick();
+            }
+        }
+    }
+
+    public long pingsSent() {
+        return pingsSent.get();
+    }
+
+    public long pingsSkipped() {
+        return pingsSkipped.get();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ticks", ticks.get());
+        stats.put("pingsSent", pingsSent.get());
+        stats.put("pingsSkipped", pingsSkipped.get());
+        stats.put("lastFanOutMicros", TimeUnit.NANOSECONDS.toMicros(lastFanOutNanos));
+        stats.put("maxFanOutMicros", TimeUnit.NANOSECONDS.toMicros(maxFanOutNanos));
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanagement.mcp;
+
+/**
+ * The method parameters or tool arguments of an MCP request are missing, unknown or of the wrong type.
+ * Reported to JSON-RPC clients as error -32602 (invalid params).
+ */
+public class McpInvalidParamsException extends IllegalArgumentException {
+    public static final int CODE = -32602;
+
+    public McpInvalidParamsException(String message) {
+        super(message);
+    }
+
+    public McpInvalidParamsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanagement.mcp;
+
+/**
+ * The JSON-RPC method of an MCP request is not one this server implements.
+ * Reported to JSON-RPC clients as error -32601 (method not found).
+ */
+public class McpMethodNotFoundException extends RuntimeException {
+    public static final int CODE = -32601;
+
+    public McpMethodNotFoundException(String method) {
+        super("Method not found: " + method);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskmanagement.mcp;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the MCP session, heartbeat, resource cache and access log counters as meters.
+ * The components keep counting on their own; these meters only read them when scraped.
+ */
+@Component
+@RequiredArgsConstructor
+public class McpMetricsBinder implements MeterBinder {
+    private final McpSessionRegistry sessionRegistry;
+    private final McpHeartbeat heartbeat;
+    private final McpResourceCache resourceCache;
+    private final McpAccessLog accessLog;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mcp.sse.sessions", sessionRegistry, McpSessionRegistry::size)
+                .description("Open MCP SSE sessions")
+                .register(registry);
+        FunctionCounter.builder("mcp.sse.heartbeat.pings", heartbeat, McpHeartbeat::pingsSent)
+                .description("Heartbeat pings queued to sessions")
+                .tag("result", "sent")
+                .register(registry);
+        FunctionCounter.builder("mcp.sse.heartbeat.pings", heartbeat, McpHeartbeat::pingsSkipped)
+                .description("Heartbeat pings skipped for closed sessions")
+                .tag("result", "skipped")
+                .register(registry);
+        FunctionCounter.builder("mcp.resources.cache.requests", resourceCache, McpResourceCache::hits)
+                .description("resources/read pages served from the cache or loaded")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("mcp.resources.cache.requests", resourceCache, McpResourceCache::misses)
+                .description("resources/read pages served from the cache or loaded")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("mcp.access.log.entries", accessLog, McpAccessLog::written)
+                .description("Access log entries written or dropped because the buffer was full")
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("mcp.access.log.entries", accessLog, McpAccessLog::dropped)
+                .description("Access log entries written or dropped because the buffer was full")
+                .tag("result", "dropped")
+                .register(registry);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.taskmanagement.mcp;
+
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.event.ProjectChangedEvent;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TasksBulkChangedEvent;
+import com.example.taskmanagement.event.TasksCreatedEvent;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.service.KeysetCursor;
+import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.service.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized pages of the MCP resources, keyed by URI and cursor. Every committed task or project write
+ * bumps one global data version; an entry is only served while its version is current and is replaced by
+ * the next read after that, so reads between writes cost no database access and no serialization.
+ */
+@Component
+public class McpResourceCache {
+    // Deep pages of large resources can be read once each; past this, stale pages are swept before caching
+    private static final int MAX_ENTRIES = 1024;
+
+    private static final List<Map<String, Object>> RESOURCES = List.of(
+        Map.of(
+            "uri", McpResourceSubscriptions.PROJECTS_URI,
+            "name", "All Projects",
+            "description", "List of all projects in the system",
+            "mimeType", "application/json"
+        ),
+        Map.of(
+            "uri", McpResourceSubscriptions.statusUri(Task.Status.TODO),
+            "name", "TODO Tasks",
+            "description", "All tasks with TODO status",
+            "mimeType", "application/json"
+        ),
+        Map.of(
+            "uri", McpResourceSubscriptions.statusUri(Task.Status.IN_PROGRESS),
+            "name", "In Progress Tasks",
+            "description", "All tasks currently in progress",
+            "mimeType", "application/json"
+        ),
+        Map.of(
+            "uri", McpResourceSubscriptions.statusUri(Task.Status.DONE),
+            "name", "Completed Tasks",
+            "description", "All completed tasks",
+            "mimeType", "application/json"
+        )
+    );
+
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * One page of a resource: its items serialized as a JSON array, and the cursor of the next page or null.
+     */
+    public record ResourcePage(String text, String nextCursor) {}
+
+    private record Entry(long version, ResourcePage page) {}
+
+    public McpResourceCache(ProjectService projectService,
+                            TaskService taskService,
+                            ObjectMapper objectMapper,
+                            @Value("${app.mcp.resources.page-size:100}") int pageSize) {
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.pageSize = KeysetCursor.clampLimit(pageSize);
+    }
+
+    /**
+     * The resources/list entries after the cursor. Positions in the fixed list are the keyset.
+     */
+    public CursorPage<Map<String, Object>> listResources(String cursor) {
+        int from = (int) Math.min(decode(cursor), RESOURCES.size());
+        int to = Math.min(from + pageSize + 1, RESOURCES.size());
+        List<Integer> positions = new ArrayList<>();
+        for (int position = from + 1; position <= to; position++) {
+            positions.add(position);
+        }
+        CursorPage<Integer> page = KeysetCursor.page(positions, pageSize, Integer::longValue);
+        return new CursorPage<>(page.items().stream().map(position -> RESOURCES.get(position - 1)).toList(),
+                page.nextCursor());
+    }
+
+    /**
+     * A page of a resource, from the cache if no write has committed since it was read.
+     */
+    public ResourcePage read(String uri, String cursor) throws JsonProcessingException {
+        long afterId = decode(cursor);
+        String key = uri + "#" + afterId;
+        long version = dataVersion.get();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version() == version) {
+            hits.incrementAndGet();
+            return entry.page();
+        }
+        misses.incrementAndGet();
+        CursorPage<?> loaded = load(uri, KeysetCursor.encode(afterId));
+        ResourcePage page = new ResourcePage(objectMapper.writeValueAsString(loaded.items()), loaded.nextCursor());
+        store(key, new Entry(version, page));
+        return page;
+    }
+
+    // Stamped with the version seen before loading: a write committing meanwhile makes it stale at once
+    private void store(String key, Entry loaded) {
+        if (entries.size() >= MAX_ENTRIES && !entries.containsKey(key)) {
+            long current = dataVersion.get();
+            entries.values().removeIf(entry -> entry.version() != current);
+            if (entries.size() >= MAX_ENTRIES) {
+                return;
+            }
+        }
+        entries.merge(key, loaded, (current, candidate) -> current.version() > candidate.version() ? current : candidate);
+    }
+
+    private CursorPage<?> load(String uri, String cursor) {
+        if (McpResourceSubscriptions.PROJECTS_URI.equals(uri)) {
+            return projectService.getProjectSummariesPage(cursor, pageSize);
+        }
+        if (uri != null && uri.startsWith(McpResourceSubscriptions.TASKS_URI_PREFIX)) {
+            Task.Status status;
+            try {
+                status = Task.Status.valueOf(
+                        uri.substring(McpResourceSubscriptions.TASKS_URI_PREFIX.length()).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new McpInvalidParamsException("Unknown resource URI: " + uri);
+            }
+            return taskService.searchTasksByStatus(status, null, cursor, pageSize);
+        }
+        throw new McpInvalidParamsException("Unknown resource URI: " + uri);
+    }
+
+    private static long decode(String cursor) {
+        try {
+            return KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new McpInvalidParamsException(e.getMessage(), e);
+        }
+    }
+
+    public long dataVersion() {
+        return dataVersion.get();
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of(
+                "dataVersion", dataVersion.get(),
+                "entries", entries.size(),
+                "hits", hits.get(),
+                "misses", misses.get()
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksCreated(TasksCreatedEvent event) {
+        dataVersion.incrementAndGet();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.taskmanagement.mcp;
+
+import com.example.taskmanagement.event.ChangeType;
+import com.example.taskmanagement.event.ProjectChangedEvent;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TasksBulkChangedEvent;
+import com.example.taskmanagement.event.TasksCreatedEvent;
+import com.example.taskmanagement.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * resources/subscribe support. Committed task and project changes mark the resources they affect as
+ * changed; changes within one coalescing window produce a single notifications/resources/updated per
+ * resource for every session subscribed to it, so a bulk import sends one notification, not thousands.
+ * Flushes run on their own thread, so they neither wait behind nor hold up the shared @Scheduled jobs.
+ */
+@Slf4j
+@Component
+public class McpResourceSubscriptions implements DisposableBean {
+    public static final String PROJECTS_URI = "task://projects";
+    public static final String TASKS_URI_PREFIX = "task://tasks/";
+
+    private static final Map<String, String> NOTIFICATIONS = new HashMap<>();
+
+    static {
+        // The notifications are fixed per resource, so they are encoded once
+        List<String> uris = new ArrayList<>();
+        uris.add(PROJECTS_URI);
+        for (Task.Status status : Task.Status.values()) {
+            uris.add(statusUri(status));
+        }
+        uris.forEach(uri -> NOTIFICATIONS.put(uri,
+                "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/resources/updated\",\"params\":{\"uri\":\"" + uri + "\"}}"));
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final Duration coalesceWindow;
+    private final Map<String, Set<McpSession>> subscribers = new ConcurrentHashMap<>();
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public McpResourceSubscriptions(@Value("${app.mcp.resources.notify-window:PT0.5S}") Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcp-resource-notify");
+            thread.setDaemon(true);
+            return thread;
+        });
+        NOTIFICATIONS.keySet().forEach(uri -> subscribers.put(uri, ConcurrentHashMap.newKeySet()));
+    }
+
+    public static String statusUri(Task.Status status) {
+        return TASKS_URI_PREFIX + status.name().toLowerCase(Locale.ROOT);
+    }
+
+    public void subscribe(McpSession session, String uri) {
+        subscribersOf(uri).add(session);
+    }
+
+    public void unsubscribe(McpSession session, String uri) {
+        subscribersOf(uri).remove(session);
+    }
+
+    private Set<McpSession> subscribersOf(String uri) {
+        Set<McpSession> sessions = uri != null ? subscribers.get(uri) : null;
+        if (sessions == null) {
+            throw new McpInvalidParamsException("Unknown resource URI: " + uri);
+        }
+        return sessions;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.status() != null) {
+            markChanged(statusUri(event.status()));
+        }
+        if (event.previousStatus() != null) {
+            markChanged(statusUri(event.previousStatus()));
+        }
+        // Project summaries only carry counts, so only creates, deletes and status moves change them
+        if (event.type() != ChangeType.UPDATED || event.status() != event.previousStatus()) {
+            markChanged(PROJECTS_URI);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        markChanged(PROJECTS_URI);
+        if (event.type() == ChangeType.DELETED) {
+            for (Task.Status status : Task.Status.values()) {
+                markChanged(statusUri(status));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        if (event.affected() == 0) {
+            return;
+        }
+        markChanged(PROJECTS_URI);
+        if (event.status() != null) {
+            markChanged(statusUri(event.status()));
+        }
+        event.previousStatuses().forEach(status -> markChanged(statusUri(status)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksCreated(TasksCreatedEvent event) {
+        if (event.tasks().isEmpty()) {
+            return;
+        }
+        markChanged(PROJECTS_URI);
+        event.statuses().forEach(status -> markChanged(statusUri(status)));
+    }
+
+    private void markChanged(String uri) {
+        if (subscribers.get(uri).isEmpty()) {
+            return;
+        }
+        changed.add(uri);
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, coalesceWindow.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flush() {
+        // Cleared first: a change arriving while we notify schedules the next window
+        flushScheduled.set(false);
+        for (Iterator<String> it = changed.iterator(); it.hasNext(); ) {
+            String uri = it.next();
+            it.remove();
+            String notification = NOTIFICATIONS.get(uri);
+            for (Iterator<McpSession> sessions = subscribers.get(uri).iterator(); sessions.hasNext(); ) {
+                McpSession session = sessions.next();
+                if (session.isClosed()) {
+                    sessions.remove();
+                } else {
+                    session.send("message", notification);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
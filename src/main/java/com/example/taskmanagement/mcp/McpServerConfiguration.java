@@ -1,13 +1,25 @@
 package com.example.taskmanagement.mcp;
 
-import org.springframework.context.ApplicationContext;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Description;
+import org.springframework.core.ResolvableType;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 import java.util.function.Function;
 
 /**
@@ -15,36 +27,69 @@ import java.util.function.Function;
  * This exposes Spring beans as MCP tools
  */
 @Configuration
+@EnableConfigurationProperties(McpAccessLogProperties.class)
 public class McpServerConfiguration {
+    private static final String EMPTY_ARGUMENTS = "{}";
 
     @Bean
-    public McpToolRegistry mcpToolRegistry(ApplicationContext applicationContext) {
-        Map<String, McpToolDefinition> tools = new HashMap<>();
+    public McpToolRegistry mcpToolRegistry(ConfigurableListableBeanFactory beanFactory, ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry) throws JsonProcessingException {
+        Map<String, McpToolDefinition> tools = new TreeMap<>();
 
-        Map<String, Object> beans = applicationContext.getBeansWithAnnotation(Description.class);
+        Map<String, Object> beans = beanFactory.getBeansWithAnnotation(Description.class);
         beans.forEach((beanName, bean) -> {
             if (bean instanceof Function) {
-                Description description = applicationContext.findAnnotationOnBean(beanName, Description.class);
+                Description description = beanFactory.findAnnotationOnBean(beanName, Description.class);
                 if (description != null) {
                     @SuppressWarnings("unchecked")
                     Function<Object, Object> function = (Function<Object, Object>) bean;
+                    Class<?> inputType = inputType(beanFactory, beanName);
                     tools.put(beanName, new McpToolDefinition(
                             beanName,
                             description.value(),
-                            function
+                            function,
+                            inputType,
+                            McpToolSchemas.inputSchema(inputType),
+                            objectMapper.readerFor(inputType),
+                            McpToolSchemas.requiredArguments(inputType),
+                            beanFactory.findAnnotationOnBean(beanName, ReadOnlyTool.class) != null,
+                            McpToolMetrics.register(meterRegistry, beanName)
                     ));
                 }
             }
         });
 
-        return new McpToolRegistry(tools);
+        return new McpToolRegistry(tools, objectMapper);
+    }
+
+    // The bean instances are lambdas, so the request type comes from the @Bean method's declared return type
+    private static Class<?> inputType(ConfigurableListableBeanFactory beanFactory, String beanName) {
+        ResolvableType type = beanFactory.getMergedBeanDefinition(beanName).getResolvableType();
+        return type.as(Function.class).getGeneric(0).resolve(Object.class);
     }
 
     public static class McpToolRegistry {
         private final Map<String, McpToolDefinition> tools;
+        private final byte[] toolsListJson;
+        private final RawValue toolsListResult;
+        private final ObjectWriter resultWriter;
+
+        public McpToolRegistry(Map<String, McpToolDefinition> tools, ObjectMapper objectMapper)
+                throws JsonProcessingException {
+            this.tools = Map.copyOf(tools);
+            this.resultWriter = objectMapper.writer();
 
-        public McpToolRegistry(Map<String, McpToolDefinition> tools) {
-            this.tools = tools;
+            // Tools are fixed at startup, so the tools/list result is serialized once and reused
+            List<Map<String, Object>> descriptors = new ArrayList<>();
+            tools.values().forEach(tool -> {
+                Map<String, Object> descriptor = new LinkedHashMap<>();
+                descriptor.put("name", tool.name());
+                descriptor.put("description", tool.description());
+                descriptor.put("inputSchema", tool.inputSchema());
+                descriptors.add(descriptor);
+            });
+            this.toolsListJson = objectMapper.writeValueAsBytes(Map.of("tools", descriptors));
+            this.toolsListResult = new RawValue(new String(toolsListJson, StandardCharsets.UTF_8));
         }
 
         public Set<String> getToolNames() {
@@ -55,15 +100,144 @@ public class McpServerConfiguration {
             return tools.get(name);
         }
 
+        /**
+         * Reads tools/call params ({"name": ..., "arguments": {...}}) and binds the arguments directly
+         * into the tool's request type. When arguments come before the name they are buffered first.
+         */
+        public McpToolCall readToolCall(JsonParser parser) throws IOException {
+            if (parser == null || parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new McpInvalidParamsException("tools/call params must be an object");
+            }
+            McpToolDefinition tool = null;
+            Object arguments = null;
+            boolean bound = false;
+            TokenBuffer pending = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name" -> tool = requireTool(parser.getValueAsString());
+                    case "arguments" -> {
+                        if (tool != null) {
+                            arguments = tool.readArguments(parser);
+                            bound = true;
+                        } else {
+                            pending = new TokenBuffer(parser);
+                            pending.copyCurrentStructure(parser);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (tool == null) {
+                throw new McpInvalidParamsException("Missing tool name");
+            }
+            if (!bound) {
+                JsonParser argumentsParser = null;
+                if (pending != null) {
+                    argumentsParser = pending.asParser();
+                    argumentsParser.nextToken();
+                }
+                arguments = tool.readArguments(argumentsParser);
+            }
+            return new McpToolCall(tool, arguments);
+        }
+
+        /**
+         * Wraps a tool's return value for the response; it is serialized only when the response is written.
+         */
+        public McpToolResult toResult(McpToolDefinition tool, Object value) {
+            return new McpToolResult(value, resultWriter, tool.metrics()::recordResultSize);
+        }
+
+        private McpToolDefinition requireTool(String name) {
+            McpToolDefinition tool = name != null ? tools.get(name) : null;
+            if (tool == null) {
+                throw new McpInvalidParamsException("Tool not found: " + name);
+            }
+            return tool;
+        }
+
         public Map<String, McpToolDefinition> getAllTools() {
             return tools;
         }
+
+        /**
+         * The serialized tools/list result. Shared between requests; callers must not modify it.
+         */
+        public byte[] getToolsListJson() {
+            return toolsListJson;
+        }
+
+        /**
+         * The tools/list result for embedding as-is in a larger Jackson-serialized response.
+         */
+        public RawValue getToolsListResult() {
+            return toolsListResult;
+        }
     }
 
     public record McpToolDefinition(
             String name,
             String description,
-            Function<Object, Object> function
-    ) {}
-}
+            Function<Object, Object> function,
+            Class<?> inputType,
+            Map<String, Object> inputSchema,
+            ObjectReader argumentsReader,
+            McpToolSchemas.RequiredArguments requiredArguments,
+            boolean readOnly,
+            McpToolMetrics metrics
+    ) {
+        /**
+         * Binds the arguments object the parser is positioned on into the tool's request type.
+         * A null parser or a JSON null binds like an empty object.
+         */
+        public Object readArguments(JsonParser parser) throws IOException {
+            try {
+                return bindArguments(parser);
+            } catch (McpInvalidParamsException e) {
+                metrics.recordInvalidParams();
+                throw e;
+            }
+        }
 
+        private Object bindArguments(JsonParser parser) throws IOException {
+            Object arguments;
+            try {
+                if (parser == null || parser.currentToken() == JsonToken.VALUE_NULL) {
+                    arguments = argumentsReader.readValue(EMPTY_ARGUMENTS);
+                } else if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    throw new McpInvalidParamsException("Arguments of " + name + " must be an object");
+                } else {
+                    arguments = argumentsReader.readValue(parser);
+                }
+            } catch (JsonMappingException e) {
+                throw new McpInvalidParamsException("Invalid arguments for " + name + ": "
+                        + McpToolSchemas.describe(e), e);
+            }
+            String missing = requiredArguments.firstMissing(arguments);
+            if (missing != null) {
+                throw new McpInvalidParamsException("Missing required argument for " + name + ": " + missing);
+            }
+            return arguments;
+        }
+
+        public Object call(Object arguments) {
+            long started = System.nanoTime();
+            try {
+                return function.apply(arguments);
+            } catch (RuntimeException e) {
+                metrics.recordFailure();
+                throw e;
+            } finally {
+                metrics.recordCall(System.nanoTime() - started);
+            }
+        }
+    }
+
+    public record McpToolCall(McpToolDefinition tool, Object arguments) {
+        public Object invoke() {
+            return tool.call(arguments);
+        }
+    }
+}
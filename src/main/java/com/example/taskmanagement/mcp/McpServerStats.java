@@ -0,0 +1,150 @@
+package com.example.taskmanagement.mcp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summarizes the latency timers for the serverStats tool: per MCP tool, per REST endpoint and per
+ * repository method, the call count, throughput since startup, errors and p50/p99/p999. Reads the same
+ * meters that /actuator/prometheus exposes; nothing is recorded here.
+ * <p>
+ * Timers with client-side percentiles (endpoints, repositories) report them over Micrometer's decaying
+ * window, the last distribution expiry (2 minutes). Tool timers only keep the bucket histogram, which
+ * the Prometheus registry accumulates since startup; their percentiles are interpolated from the buckets.
+ * Each entry names its window in percentileWindow. maxMs is always over the decaying window.
+ */
+@Component
+@RequiredArgsConstructor
+public class McpServerStats {
+    private static final String HTTP_REQUESTS = "http.server.requests";
+    private static final String REPOSITORY_INVOCATIONS = "spring.data.repository.invocations";
+    private static final double[] BUCKET_PERCENTILES = {0.5, 0.99, 0.999};
+    private static final String DECAYING_WINDOW =
+            "last " + DistributionStatisticConfig.DEFAULT.getExpiry().toMinutes() + " minutes";
+
+    private final MeterRegistry meterRegistry;
+
+    public Map<String, Object> snapshot(long minCalls) {
+        double uptimeSeconds = ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("uptimeSeconds", Math.round(uptimeSeconds));
+        stats.put("tools", tools(minCalls, uptimeSeconds));
+        stats.put("endpoints", timers(HTTP_REQUESTS, minCalls, uptimeSeconds, "method", "uri", "status"));
+        stats.put("repositories", timers(REPOSITORY_INVOCATIONS, minCalls, uptimeSeconds, "repository", "method", "state"));
+        return stats;
+    }
+
+    private Map<String, Object> tools(long minCalls, double uptimeSeconds) {
+        Map<String, Object> tools = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(McpToolMetrics.CALLS).timers()) {
+            if (timer.count() < minCalls) {
+                continue;
+            }
+            String tool = timer.getId().getTag("tool");
+            Map<String, Object> entry = summarize(timer, uptimeSeconds);
+            entry.put("failures", count(tool, "failure"));
+            entry.put("invalidParams", count(tool, "invalid_params"));
+            DistributionSummary size = meterRegistry.find(McpToolMetrics.RESULT_SIZE).tag("tool", tool).summary();
+            if (size != null && size.count() > 0) {
+                entry.put("resultCharsMean", Math.round(size.mean()));
+                entry.put("resultCharsMax", Math.round(size.max()));
+            }
+            tools.put(tool, entry);
+        }
+        return tools;
+    }
+
+    private long count(String tool, String kind) {
+        Counter counter = meterRegistry.find(McpToolMetrics.ERRORS).tag("tool", tool).tag("kind", kind).counter();
+        return counter != null ? (long) counter.count() : 0;
+    }
+
+    /**
+     * One entry per timer, keyed by the given tag values; error responses and failed invocations carry
+     * their own status or state tag, so they show up as separate entries.
+     */
+    private Map<String, Object> timers(String name, long minCalls, double uptimeSeconds, String... keyTags) {
+        Map<String, Object> entries = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(name).timers()) {
+            if (timer.count() < minCalls) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder();
+            for (String tag : keyTags) {
+                String value = timer.getId().getTag(tag);
+                if (value != null) {
+                    key.append(key.length() > 0 ? " " : "").append(value);
+                }
+            }
+            entries.put(key.toString(), summarize(timer, uptimeSeconds));
+        }
+        return entries;
+    }
+
+    private static Map<String, Object> summarize(Timer timer, double uptimeSeconds) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("calls", snapshot.count());
+        entry.put("callsPerSecond", uptimeSeconds > 0 ? round(snapshot.count() / uptimeSeconds) : 0.0);
+        entry.put("meanMs", round(snapshot.mean(TimeUnit.MILLISECONDS)));
+        if (snapshot.percentileValues().length > 0) {
+            entry.put("percentileWindow", DECAYING_WINDOW);
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                entry.put(percentileKey(percentile.percentile()), round(percentile.value(TimeUnit.MILLISECONDS)));
+            }
+        } else if (snapshot.histogramCounts().length > 0) {
+            entry.put("percentileWindow", "since startup");
+            for (double percentile : BUCKET_PERCENTILES) {
+                entry.put(percentileKey(percentile), round(fromBuckets(snapshot, percentile)));
+            }
+        }
+        entry.put("maxMs", round(snapshot.max(TimeUnit.MILLISECONDS)));
+        return entry;
+    }
+
+    /**
+     * The percentile in milliseconds, interpolated linearly inside the bucket that holds it, from cumulative
+     * bucket counts. Values above the last bucket are reported as the largest recent value.
+     */
+    private static double fromBuckets(HistogramSnapshot snapshot, double percentile) {
+        double rank = percentile * snapshot.count();
+        double lowerBound = 0;
+        double lowerCount = 0;
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            double upperBound = bucket.bucket(TimeUnit.MILLISECONDS);
+            if (bucket.count() >= rank) {
+                double inBucket = bucket.count() - lowerCount;
+                return inBucket > 0
+                        ? lowerBound + (upperBound - lowerBound) * (rank - lowerCount) / inBucket
+                        : upperBound;
+            }
+            lowerBound = upperBound;
+            lowerCount = bucket.count();
+        }
+        return snapshot.max(TimeUnit.MILLISECONDS);
+    }
+
+    // 0.5 -> p50, 0.99 -> p99, 0.999 -> p999
+    private static String percentileKey(double percentile) {
+        String digits = String.valueOf(percentile).substring(2);
+        return "p" + (digits.length() == 1 ? digits + "0" : digits) + "Ms";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
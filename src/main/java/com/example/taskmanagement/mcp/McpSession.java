@@ -0,0 +1,149 @@
+package com.example.taskmanagement.mcp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One connected SSE client. Messages for it are queued in a bounded buffer that the connection drains
+ * as fast as the client reads; what happens when the buffer is full is decided by the overflow policy.
+ */
+@Slf4j
+public class McpSession {
+
+    public enum OverflowPolicy {
+        /** Discard the message that does not fit and keep the connection. */
+        DROP,
+        /** Close the connection; the client reconnects and starts a new session. */
+        DISCONNECT
+    }
+
+    private final String id;
+    private final int heartbeatSlot;
+    private final OverflowPolicy overflowPolicy;
+    private final Sinks.Many<ServerSentEvent<String>> outbound;
+    private final Sinks.One<Boolean> closeSignal = Sinks.one();
+    private final long createdAt = System.currentTimeMillis();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ReentrantLock emitLock = new ReentrantLock();
+    private volatile long lastActivity = createdAt;
+    private volatile boolean closed;
+
+    McpSession(String id, int heartbeatSlot, int queueCapacity, OverflowPolicy overflowPolicy) {
+        this.id = id;
+        this.heartbeatSlot = heartbeatSlot;
+        this.overflowPolicy = overflowPolicy;
+        this.outbound = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<ServerSentEvent<String>>get(queueCapacity).get());
+    }
+
+    public String id() {
+        return id;
+    }
+
+    int heartbeatSlot() {
+        return heartbeatSlot;
+    }
+
+    /**
+     * The queued messages, completing when the session is closed. A session has exactly one subscriber.
+     * Every message handed on to the connection, heartbeats included, counts as activity: the connection
+     * only takes the next one once the client has read enough of the previous ones.
+     */
+    public Flux<ServerSentEvent<String>> messages() {
+        return outbound.asFlux()
+                .doOnNext(message -> touch())
+                .takeUntilOther(closeSignal.asMono());
+    }
+
+    /**
+     * Completes when the session is closed, e.g. to end other streams merged into the connection.
+     */
+    public Mono<Boolean> onClose() {
+        return closeSignal.asMono();
+    }
+
+    /**
+     * Queues a message for the client. Returns false if it was not queued: the buffer was full, or the
+     * client is gone.
+     */
+    public boolean send(String event, String data) {
+        ServerSentEvent<String> message = ServerSentEvent.<String>builder()
+                .event(event)
+                .data(data)
+                .build();
+        Sinks.EmitResult result = emit(message);
+        if (result.isSuccess()) {
+            sent.incrementAndGet();
+            return true;
+        }
+        if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            dropped.incrementAndGet();
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                log.warn("MCP session {} is not reading its messages, disconnecting", id);
+                close();
+            }
+        } else {
+            close();
+        }
+        return false;
+    }
+
+    /**
+     * Queues a keep-alive frame. A full buffer is not an overflow here: the client already has data to read.
+     */
+    public boolean sendHeartbeat(ServerSentEvent<String> ping) {
+        Sinks.EmitResult result = emit(ping);
+        if (result == Sinks.EmitResult.FAIL_CANCELLED || result == Sinks.EmitResult.FAIL_TERMINATED) {
+            close();
+        }
+        return result.isSuccess();
+    }
+
+    // Emissions into a sink must not overlap; messages for one session are rare enough to serialize.
+    // A lock rather than a monitor, so virtual threads waiting for it do not pin their carrier thread
+    private Sinks.EmitResult emit(ServerSentEvent<String> message) {
+        emitLock.lock();
+        try {
+            return outbound.tryEmitNext(message);
+        } finally {
+            emitLock.unlock();
+        }
+    }
+
+    public void touch() {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    public void close() {
+        closed = true;
+        closeSignal.tryEmitValue(Boolean.TRUE);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public long lastActivity() {
+        return lastActivity;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    public long sent() {
+        return sent.get();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+}
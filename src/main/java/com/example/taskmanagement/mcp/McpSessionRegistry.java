@@ -0,0 +1,110 @@
+package com.example.taskmanagement.mcp;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The open MCP SSE sessions, by id. A session is removed when its connection ends, and closed by the
+ * reaper when for the idle timeout the client has neither posted a message nor read one from its stream,
+ * so listen-only clients stay open as long as they keep reading heartbeats.
+ */
+@Slf4j
+@Component
+public class McpSessionRegistry {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Map<String, McpSession> sessions = new ConcurrentHashMap<>();
+    // Sessions grouped by heartbeat slot, so each heartbeat tick visits only its own slot
+    private final List<Set<McpSession>> heartbeatSlots;
+    private final int maxSessions;
+    private final int queueCapacity;
+    private final McpSession.OverflowPolicy overflowPolicy;
+    private final Duration idleTimeout;
+
+    public McpSessionRegistry(@Value("${app.mcp.sse.max-sessions:20000}") int maxSessions,
+                              @Value("${app.mcp.sse.queue-capacity:64}") int queueCapacity,
+                              @Value("${app.mcp.sse.overflow-policy:DISCONNECT}") McpSession.OverflowPolicy overflowPolicy,
+                              @Value("${app.mcp.sse.idle-timeout:PT30M}") Duration idleTimeout,
+                              @Value("${app.mcp.sse.heartbeat-slots:30}") int heartbeatSlotCount) {
+        this.maxSessions = maxSessions;
+        this.queueCapacity = queueCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.idleTimeout = idleTimeout;
+        this.heartbeatSlots = new ArrayList<>(heartbeatSlotCount);
+        for (int i = 0; i < heartbeatSlotCount; i++) {
+            heartbeatSlots.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Opens a new session, or returns empty if the instance already holds maxSessions.
+     */
+    public Optional<McpSession> open() {
+        if (sessions.size() >= maxSessions) {
+            return Optional.empty();
+        }
+        // A random slot spreads the heartbeats of sessions opened together over the whole interval
+        int slot = ThreadLocalRandom.current().nextInt(heartbeatSlots.size());
+        McpSession session = new McpSession(newId(), slot, queueCapacity, overflowPolicy);
+        sessions.put(session.id(), session);
+        heartbeatSlots.get(slot).add(session);
+        return Optional.of(session);
+    }
+
+    public Optional<McpSession> get(String id) {
+        return Optional.ofNullable(id).map(sessions::get);
+    }
+
+    public void remove(String id) {
+        McpSession session = sessions.remove(id);
+        if (session != null) {
+            heartbeatSlots.get(session.heartbeatSlot()).remove(session);
+            session.close();
+        }
+    }
+
+    public Collection<McpSession> sessions() {
+        return sessions.values();
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    int heartbeatSlotCount() {
+        return heartbeatSlots.size();
+    }
+
+    Collection<McpSession> heartbeatSlot(int slot) {
+        return heartbeatSlots.get(slot);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mcp.sse.reap-interval:PT1M}")
+    public void reapIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeout.toMillis();
+        int reaped = 0;
+        for (McpSession session : sessions.values()) {
+            if (session.lastActivity() < cutoff) {
+                remove(session.id());
+                reaped++;
+            }
+        }
+        if (reaped > 0) {
+            log.info("Closed {} idle MCP sessions, {} open", reaped, sessions.size());
+        }
+    }
+
+    private static String newId() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -1,14 +1,28 @@
 package com.example.taskmanagement.mcp;
 
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.ProjectReport;
+import com.example.taskmanagement.dto.StatusReport;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.service.ReportService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 
-import java.time.Duration;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -20,122 +34,293 @@ import java.util.*;
 @RequestMapping("/mcp/sse")
 @RequiredArgsConstructor
 public class McpSseController {
-
     private final McpServerConfiguration.McpToolRegistry toolRegistry;
     private final ObjectMapper objectMapper;
+    private final McpBatchExecutor batchExecutor;
+    private final McpSessionRegistry sessionRegistry;
+    private final McpHeartbeat heartbeat;
+    private final McpResourceSubscriptions resourceSubscriptions;
+    private final McpResourceCache resourceCache;
+    private final ReportService reportService;
+    private final McpAccessLog accessLog;
+
+    @Value("${app.mcp.batch.max-size:100}")
+    private int maxBatchSize;
 
     /**
      * SSE endpoint for MCP messages
-     * Handles the full MCP protocol lifecycle over SSE
+     * Opens a session and announces its message endpoint; responses to messages posted there
+     * are delivered on this stream
      */
     @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<ServerSentEvent<String>> sseEndpoint() {
-        log.info("MCP SSE connection established");
+        McpSession session = sessionRegistry.open()
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many MCP sessions"));
+        log.info("MCP SSE session {} opened, {} open", session.id(), sessionRegistry.size());
 
-        // Create the initial message
-        Flux<ServerSentEvent<String>> initialMessage = Flux.defer(() -> {
-            try {
-                Map<String, Object> endpointInfo = Map.of(
-                    "jsonrpc", "2.0",
-                    "method", "endpoint",
-                    "params", Map.of(
-                        "endpoint", "/mcp/sse/message"
-                    )
-                );
-                
-                String json = objectMapper.writeValueAsString(endpointInfo);
-                log.info("Sent endpoint info");
-
-                return Flux.just(ServerSentEvent.<String>builder()
-                    .data(json)
-                    .build());
-            } catch (Exception e) {
-                log.error("Error sending endpoint info", e);
-                return Flux.error(e);
-            }
-        });
-
-        // Create periodic ping messages
-        Flux<ServerSentEvent<String>> pings = Flux.interval(Duration.ofSeconds(30))
-            .map(tick -> {
-                try {
-                    Map<String, Object> ping = Map.of(
-                        "jsonrpc", "2.0",
-                        "method", "ping"
-                    );
-                    String json = objectMapper.writeValueAsString(ping);
-                    return ServerSentEvent.<String>builder()
-                        .event("ping")
-                        .data(json)
-                        .build();
-                } catch (Exception e) {
-                    log.error("Error creating ping", e);
-                    return ServerSentEvent.<String>builder()
-                        .event("error")
-                        .data("ping error")
-                        .build();
-                }
+        ServerSentEvent<String> endpoint = ServerSentEvent.<String>builder()
+            .event("endpoint")
+            .data("/mcp/sse/message?sessionId=" + session.id())
+            .build();
+
+        // Pings are queued into the session by the shared McpHeartbeat
+        return Flux.concat(Flux.just(endpoint), session.messages())
+            .takeUntilOther(session.onClose())
+            .doOnError(error -> log.error("MCP SSE error in session {}", session.id(), error))
+            .doFinally(signal -> {
+                sessionRegistry.remove(session.id());
+                log.info("MCP SSE session {} closed ({}), {} open", session.id(), signal, sessionRegistry.size());
             });
+    }
 
-        // Combine initial message and pings
-        return Flux.concat(initialMessage, pings)
-            .doOnComplete(() -> log.info("MCP SSE connection closed"))
-            .doOnError(error -> log.error("MCP SSE error", error));
+    /**
+     * Live session count, outbound message totals and heartbeat fan-out times
+     */
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> stats() {
+        long sent = 0;
+        long dropped = 0;
+        for (McpSession session : sessionRegistry.sessions()) {
+            sent += session.sent();
+            dropped += session.dropped();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("liveSessions", sessionRegistry.size());
+        stats.put("messagesSent", sent);
+        stats.put("messagesDropped", dropped);
+        stats.put("heartbeat", heartbeat.stats());
+        stats.put("resourceCache", resourceCache.stats());
+        stats.put("accessLog", accessLog.stats());
+        return stats;
     }
 
     /**
-     * Handle MCP messages sent to the message endpoint
+     * Handle MCP messages sent to the message endpoint: a single JSON-RPC request or a batch array.
+     * With a sessionId the response is delivered on that session's stream and the POST is answered
+     * with 202 Accepted; without one it is returned in the POST response. Notifications get no response
+     * in either case.
      */
     @PostMapping(value = "/message", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Map<String, Object> handleMessage(@RequestBody Map<String, Object> message) {
-        log.info("MCP SSE message received: {}", message);
+    public ResponseEntity<Object> handleMessage(@RequestParam(required = false) String sessionId,
+                                                @RequestBody byte[] body) {
+        if (sessionId == null) {
+            return dispatch(body, null);
+        }
+        Optional<McpSession> session = sessionRegistry.get(sessionId);
+        if (session.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(errorResponse(null, JsonRpcRequest.INVALID_REQUEST, "Unknown or closed session: " + sessionId));
+        }
+        session.get().touch();
 
-        String method = (String) message.get("method");
-        Object id = message.get("id");
-        @SuppressWarnings("unchecked")
-        Map<String, Object> params = (Map<String, Object>) message.get("params");
+        ResponseEntity<Object> response = dispatch(body, session.get());
+        if (response.hasBody()) {
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(response.getBody());
+            } catch (JsonProcessingException e) {
+                log.error("Error serializing response for session {}", sessionId, e);
+                json = toJson(errorResponse(null, JsonRpcRequest.INTERNAL_ERROR, e.getMessage()));
+            }
+            if (!session.get().send("message", json)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(errorResponse(null, JsonRpcRequest.INTERNAL_ERROR, "Session is not accepting messages"));
+            }
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private ResponseEntity<Object> dispatch(byte[] body, McpSession session) {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                return handleBatch(parser, session);
+            }
+            JsonRpcRequest request = JsonRpcRequest.read(parser);
+            Map<String, Object> response = respond(request, session);
+            // A notification is never answered, not even with an error: 202 without a body
+            return request.isNotification() ? ResponseEntity.accepted().build() : ResponseEntity.ok(response);
+        } catch (IOException e) {
+            log.info("Malformed MCP SSE message: {}", e.getMessage());
+            return ResponseEntity.ok(errorResponse(null, JsonRpcRequest.PARSE_ERROR, "Parse error: " + e.getMessage()));
+        }
+    }
 
+    private String toJson(Map<String, Object> response) {
         try {
-            Map<String, Object> result = processMethod(method, params);
-            
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Executes a JSON-RPC batch and answers with one array holding a response per request that has an id,
+     * in request order. Read-only calls run concurrently; writes run one at a time in submission order.
+     */
+    private ResponseEntity<Object> handleBatch(JsonParser parser, McpSession session) throws IOException {
+        List<McpBatchExecutor.Step<Map<String, Object>>> steps = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == null) {
+                throw new JsonParseException(parser, "Unterminated batch");
+            }
+            if (steps.size() == maxBatchSize) {
+                return ResponseEntity.ok(errorResponse(null, JsonRpcRequest.INVALID_REQUEST,
+                        "Batch too large, at most " + maxBatchSize + " requests"));
+            }
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                Map<String, Object> invalid = errorResponse(null, JsonRpcRequest.INVALID_REQUEST,
+                        "Batch entries must be objects");
+                steps.add(new McpBatchExecutor.Step<>(true, () -> invalid));
+                continue;
+            }
+            JsonRpcRequest request = JsonRpcRequest.read(parser);
+            steps.add(new McpBatchExecutor.Step<>(isReadOnly(request), () -> {
+                Map<String, Object> response = respond(request, session);
+                return request.isNotification() ? null : response;
+            }));
+        }
+        if (steps.isEmpty()) {
+            return ResponseEntity.ok(errorResponse(null, JsonRpcRequest.INVALID_REQUEST, "Empty batch"));
+        }
+        log.debug("MCP SSE batch received: {} requests", steps.size());
+
+        List<Map<String, Object>> responses = batchExecutor.run(steps).stream()
+                .filter(Objects::nonNull)
+                .toList();
+        // A batch of notifications only gets no response body at all
+        return responses.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.<Object>ok(responses);
+    }
+
+    private boolean isReadOnly(JsonRpcRequest request) throws IOException {
+        if (!"tools/call".equals(request.method())) {
+            return true;
+        }
+        McpServerConfiguration.McpToolDefinition tool = toolRegistry.getTool(request.paramsField("name"));
+        // Unknown tools only produce an error, which is safe to run concurrently
+        return tool == null || tool.readOnly();
+    }
+
+    private Map<String, Object> respond(JsonRpcRequest request, McpSession session) {
+        String method = request.method();
+        if (method == null) {
+            return errorResponse(request.id(), JsonRpcRequest.INVALID_REQUEST, "Missing method");
+        }
+
+        long started = System.nanoTime();
+        McpAccessLog.Outcome outcome = McpAccessLog.Outcome.OK;
+        String error = null;
+        try {
+            Object result = processMethod(method, request, session);
+            if (result instanceof McpToolResult toolResult && toolResult.failure() != null) {
+                outcome = McpAccessLog.Outcome.ERROR;
+                error = toolResult.failure().getMessage();
+            }
+
             Map<String, Object> response = new HashMap<>();
             response.put("jsonrpc", "2.0");
-            response.put("id", id);
+            response.put("id", request.id());
             response.put("result", result);
             
             return response;
+        } catch (McpInvalidParamsException e) {
+            outcome = McpAccessLog.Outcome.INVALID_PARAMS;
+            error = e.getMessage();
+            return errorResponse(request.id(), McpInvalidParamsException.CODE, e.getMessage());
+        } catch (McpMethodNotFoundException e) {
+            outcome = McpAccessLog.Outcome.METHOD_NOT_FOUND;
+            error = e.getMessage();
+            return errorResponse(request.id(), McpMethodNotFoundException.CODE, e.getMessage());
         } catch (Exception e) {
+            outcome = McpAccessLog.Outcome.ERROR;
+            error = e.getMessage();
             log.error("Error processing method {}: {}", method, e.getMessage(), e);
-            
-            Map<String, Object> error = new HashMap<>();
-            error.put("code", -32603);
-            error.put("message", e.getMessage());
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("jsonrpc", "2.0");
-            response.put("id", id);
-            response.put("error", error);
-            
-            return response;
+            return errorResponse(request.id(), JsonRpcRequest.INTERNAL_ERROR, e.getMessage());
+        } finally {
+            // The params buffer is never modified after parsing, so the writer thread can format it later
+            accessLog.record(method, accessLogName(request), session != null ? session.id() : null,
+                request.params(), request.paramsLength(), System.nanoTime() - started, outcome, error);
         }
     }
 
+    /**
+     * The tool, prompt or resource a call is about, for the access log.
+     */
+    private static String accessLogName(JsonRpcRequest request) {
+        String field = switch (request.method()) {
+            case "tools/call", "prompts/get" -> "name";
+            case "resources/read", "resources/subscribe", "resources/unsubscribe" -> "uri";
+            default -> null;
+        };
+        if (field == null) {
+            return null;
+        }
+        try {
+            return request.paramsField(field);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Map<String, Object> errorResponse(Object id, int code, String message) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("code", code);
+        error.put("message", message);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("jsonrpc", "2.0");
+        response.put("id", id);
+        response.put("error", error);
+
+        return response;
+    }
+
     /**
      * Process MCP method calls
      */
-    private Map<String, Object> processMethod(String method, Map<String, Object> params) {
+    private Object processMethod(String method, JsonRpcRequest request, McpSession session) throws IOException {
         return switch (method) {
-            case "initialize" -> handleInitialize(params);
-            case "tools/list" -> handleToolsList();
-            case "tools/call" -> handleToolsCall(params);
+            case "initialize" -> handleInitialize(paramsAsMap(request));
+            // The client confirms initialization; there is nothing to do
+            case "notifications/initialized" -> Map.of();
+            case "tools/list" -> toolRegistry.getToolsListResult();
+            case "tools/call" -> handleToolsCall(request);
             case "prompts/list" -> handlePromptsList();
-            case "prompts/get" -> handlePromptsGet(params);
-            case "resources/list" -> handleResourcesList();
-            case "resources/read" -> handleResourcesRead(params);
-            default -> throw new IllegalArgumentException("Unknown method: " + method);
+            case "prompts/get" -> handlePromptsGet(paramsAsMap(request));
+            case "resources/list" -> handleResourcesList(paramsAsMap(request));
+            case "resources/read" -> handleResourcesRead(paramsAsMap(request));
+            case "resources/subscribe" -> handleResourcesSubscribe(paramsAsMap(request), session, true);
+            case "resources/unsubscribe" -> handleResourcesSubscribe(paramsAsMap(request), session, false);
+            default -> throw new McpMethodNotFoundException(method);
         };
     }
 
+    private Map<String, Object> paramsAsMap(JsonRpcRequest request) throws IOException {
+        JsonParser parser = request.paramsParser();
+        if (parser == null) {
+            return Map.of();
+        }
+        return objectMapper.readValue(parser, new TypeReference<Map<String, Object>>() {});
+    }
+
+    private Map<String, Object> handleResourcesSubscribe(Map<String, Object> params, McpSession session,
+                                                         boolean subscribe) {
+        if (session == null) {
+            throw new McpInvalidParamsException("Resource subscriptions need an SSE session: post to the endpoint "
+                + "announced on /mcp/sse");
+        }
+        Object uri = params.get("uri");
+        if (!(uri instanceof String)) {
+            throw new McpInvalidParamsException("Missing resource uri");
+        }
+        if (subscribe) {
+            resourceSubscriptions.subscribe(session, (String) uri);
+        } else {
+            resourceSubscriptions.unsubscribe(session, (String) uri);
+        }
+        return Map.of();
+    }
+
     private Map<String, Object> handleInitialize(Map<String, Object> params) {
         Map<String, Object> response = new HashMap<>();
         response.put("protocolVersion", "2024-11-05");
@@ -146,7 +331,7 @@ public class McpSseController {
         response.put("capabilities", Map.of(
             "tools", Map.of("listChanged", false),
             "resources", Map.of(
-                "subscribe", false,
+                "subscribe", true,
                 "listChanged", false
             ),
             "prompts", Map.of("listChanged", false),
@@ -155,45 +340,20 @@ public class McpSseController {
         return response;
     }
 
-    private Map<String, Object> handleToolsList() {
-        List<Map<String, Object>> tools = new ArrayList<>();
-        
-        toolRegistry.getAllTools().forEach((name, tool) -> {
-            Map<String, Object> toolDef = new HashMap<>();
-            toolDef.put("name", name);
-            toolDef.put("description", tool.description());
-            toolDef.put("inputSchema", generateInputSchema(name));
-            tools.add(toolDef);
-        });
-        
-        return Map.of("tools", tools);
-    }
-
-    private Map<String, Object> handleToolsCall(Map<String, Object> params) {
-        String name = (String) params.get("name");
-        @SuppressWarnings("unchecked")
-        Map<String, Object> arguments = (Map<String, Object>) params.get("arguments");
-        
-        McpServerConfiguration.McpToolDefinition tool = toolRegistry.getTool(name);
-        if (tool == null) {
-            throw new IllegalArgumentException("Tool not found: " + name);
-        }
-        
+    /**
+     * Unknown tools and bad arguments are JSON-RPC errors; a tool that fails while running answers with
+     * an isError result, as POST /mcp/tools/call does.
+     */
+    private McpToolResult handleToolsCall(JsonRpcRequest request) throws IOException {
+        McpServerConfiguration.McpToolCall call = toolRegistry.readToolCall(request.paramsParser());
+        Object result;
         try {
-            Object input = convertArguments(name, arguments);
-            Object result = tool.function().apply(input);
-            String resultJson = objectMapper.writeValueAsString(result);
-            
-            return Map.of(
-                "content", List.of(Map.of(
-                    "type", "text",
-                    "text", resultJson
-                )),
-                "isError", false
-            );
+            result = call.invoke();
         } catch (Exception e) {
-            throw new RuntimeException("Error calling tool: " + e.getMessage(), e);
+            log.error("Error calling tool {}: {}", call.tool().name(), e.getMessage(), e);
+            return McpToolResult.error(e);
         }
+        return toolRegistry.toResult(call.tool(), result);
     }
 
     private Map<String, Object> handlePromptsList() {
@@ -215,7 +375,7 @@ public class McpSseController {
         return Map.of("prompts", prompts);
     }
 
-    private Map<String, Object> handlePromptsGet(Map<String, Object> params) {
+    private Map<String, Object> handlePromptsGet(Map<String, Object> params) throws JsonProcessingException {
         String name = (String) params.get("name");
         @SuppressWarnings("unchecked")
         Map<String, Object> arguments = (Map<String, Object>) params.getOrDefault("arguments", Map.of());
@@ -227,14 +387,18 @@ public class McpSseController {
             case "project_summary" -> {
                 description = "Generates a comprehensive summary of a project";
                 Long projectId = getLong(arguments, "projectId");
+                ProjectReport report = reportService.projectReport(projectId, null, null)
+                    .orElseThrow(() -> new McpInvalidParamsException("Project not found with id: " + projectId));
                 messages.add(Map.of(
                     "role", "user",
                     "content", Map.of(
                         "type", "text",
                         "text", String.format(
                             "Please provide a comprehensive summary of project ID %d including " +
-                            "all tasks, their current status, and any notable insights.",
-                            projectId
+                            "all tasks, their current status, and any notable insights. " +
+                            "Its task counts, newest tasks per status and recent changes are below; " +
+                            "only call listTasks if you need tasks beyond these.%n%n%s",
+                            projectId, objectMapper.writeValueAsString(report)
                         )
                     )
                 ));
@@ -242,14 +406,17 @@ public class McpSseController {
             case "task_report" -> {
                 description = "Generates a report of tasks by status";
                 String status = (String) arguments.getOrDefault("status", "TODO");
+                StatusReport report = reportService.statusReport(parseStatus(status), null, null, null, null);
                 messages.add(Map.of(
                     "role", "user",
                     "content", Map.of(
                         "type", "text",
                         "text", String.format(
                             "Generate a detailed report of all tasks with status '%s'. " +
-                            "Include task titles, descriptions, and the projects they belong to.",
-                            status
+                            "Include task titles, descriptions, and the projects they belong to. " +
+                            "The total, per-project counts with each project's newest tasks and recent changes " +
+                            "are below; call statusReport or searchTasksByStatus for more.%n%n%s",
+                            status, objectMapper.writeValueAsString(report)
                         )
                     )
                 ));
@@ -279,185 +446,60 @@ public class McpSseController {
         );
     }
 
-    private Map<String, Object> handleResourcesList() {
-        List<Map<String, Object>> resources = Arrays.asList(
-            Map.of(
-                "uri", "task://projects",
-                "name", "All Projects",
-                "description", "List of all projects in the system",
-                "mimeType", "application/json"
-            ),
-            Map.of(
-                "uri", "task://tasks/todo",
-                "name", "TODO Tasks",
-                "description", "All tasks with TODO status",
-                "mimeType", "application/json"
-            ),
-            Map.of(
-                "uri", "task://tasks/in_progress",
-                "name", "In Progress Tasks",
-                "description", "All tasks currently in progress",
-                "mimeType", "application/json"
-            ),
-            Map.of(
-                "uri", "task://tasks/done",
-                "name", "Completed Tasks",
-                "description", "All completed tasks",
-                "mimeType", "application/json"
-            )
-        );
+    private Map<String, Object> handleResourcesList(Map<String, Object> params) {
+        CursorPage<Map<String, Object>> page = resourceCache.listResources(getCursor(params));
         
-        return Map.of("resources", resources);
+        Map<String, Object> result = new HashMap<>();
+        result.put("resources", page.items());
+        if (page.nextCursor() != null) {
+            result.put("nextCursor", page.nextCursor());
+        }
+        return result;
     }
 
-    private Map<String, Object> handleResourcesRead(Map<String, Object> params) {
-        String uri = (String) params.get("uri");
+    private Map<String, Object> handleResourcesRead(Map<String, Object> params) throws JsonProcessingException {
+        Object uri = params.get("uri");
+        if (!(uri instanceof String)) {
+            throw new McpInvalidParamsException("Missing resource uri");
+        }
+        McpResourceCache.ResourcePage page = resourceCache.read((String) uri, getCursor(params));
         
-        try {
-            String content;
-            if (uri.equals("task://projects")) {
-                McpToolsConfiguration.ListProjectsRequest req = new McpToolsConfiguration.ListProjectsRequest();
-                Object result = toolRegistry.getTool("listProjects").function().apply(req);
-                content = objectMapper.writeValueAsString(result);
-            } else if (uri.startsWith("task://tasks/")) {
-                String status = uri.substring("task://tasks/".length()).toUpperCase();
-                McpToolsConfiguration.SearchTasksByStatusRequest req = 
-                    new McpToolsConfiguration.SearchTasksByStatusRequest(status);
-                Object result = toolRegistry.getTool("searchTasksByStatus").function().apply(req);
-                content = objectMapper.writeValueAsString(result);
-            } else {
-                throw new IllegalArgumentException("Unknown resource URI: " + uri);
-            }
-            
-            return Map.of(
-                "contents", List.of(Map.of(
-                    "uri", uri,
-                    "mimeType", "application/json",
-                    "text", content
-                ))
-            );
-        } catch (Exception e) {
-            throw new RuntimeException("Error reading resource: " + e.getMessage(), e);
+        Map<String, Object> result = new HashMap<>();
+        result.put("contents", List.of(Map.of(
+            "uri", uri,
+            "mimeType", "application/json",
+            "text", page.text()
+        )));
+        if (page.nextCursor() != null) {
+            result.put("nextCursor", page.nextCursor());
         }
+        return result;
     }
 
-    private Map<String, Object> generateInputSchema(String toolName) {
-        Map<String, Object> schema = new HashMap<>();
-        schema.put("type", "object");
-        
-        Map<String, Object> properties = new HashMap<>();
-        List<String> required = new ArrayList<>();
-        
-        // Reuse the schema generation logic from McpController
-        switch (toolName) {
-            case "listProjects" -> {}
-            case "getProject" -> {
-                properties.put("id", Map.of("type", "number", "description", "Project ID"));
-                required.add("id");
-            }
-            case "createProject" -> {
-                properties.put("name", Map.of("type", "string", "description", "Project name"));
-                properties.put("description", Map.of("type", "string", "description", "Project description"));
-                required.add("name");
-            }
-            case "updateProject" -> {
-                properties.put("id", Map.of("type", "number", "description", "Project ID"));
-                properties.put("name", Map.of("type", "string", "description", "New project name"));
-                properties.put("description", Map.of("type", "string", "description", "New project description"));
-                required.add("id");
-                required.add("name");
-            }
-            case "deleteProject" -> {
-                properties.put("id", Map.of("type", "number", "description", "Project ID to delete"));
-                required.add("id");
-            }
-            case "listTasks" -> {
-                properties.put("projectId", Map.of("type", "number", "description", "Project ID"));
-                required.add("projectId");
-            }
-            case "getTask" -> {
-                properties.put("id", Map.of("type", "number", "description", "Task ID"));
-                required.add("id");
-            }
-            case "createTask" -> {
-                properties.put("projectId", Map.of("type", "number", "description", "Project ID"));
-                properties.put("title", Map.of("type", "string", "description", "Task title"));
-                properties.put("description", Map.of("type", "string", "description", "Task description"));
-                properties.put("status", Map.of("type", "string", "description", "Task status (TODO, IN_PROGRESS, DONE)"));
-                required.add("projectId");
-                required.add("title");
-            }
-            case "updateTask" -> {
-                properties.put("id", Map.of("type", "number", "description", "Task ID"));
-                properties.put("title", Map.of("type", "string", "description", "New task title"));
-                properties.put("description", Map.of("type", "string", "description", "New task description"));
-                properties.put("status", Map.of("type", "string", "description", "New task status"));
-                required.add("id");
-                required.add("title");
-            }
-            case "deleteTask" -> {
-                properties.put("id", Map.of("type", "number", "description", "Task ID to delete"));
-                required.add("id");
-            }
-            case "searchTasksByStatus" -> {
-                properties.put("status", Map.of("type", "string", "description", "Status to search for (TODO, IN_PROGRESS, DONE)"));
-                required.add("status");
-            }
-        }
-        
-        schema.put("properties", properties);
-        if (!required.isEmpty()) {
-            schema.put("required", required);
+    private String getCursor(Map<String, Object> params) {
+        Object cursor = params.get("cursor");
+        if (cursor != null && !(cursor instanceof String)) {
+            throw new McpInvalidParamsException("cursor must be a string");
         }
-        
-        return schema;
+        return (String) cursor;
     }
 
-    private Object convertArguments(String toolName, Map<String, Object> arguments) {
-        if (arguments == null) {
-            arguments = new HashMap<>();
+    private static Task.Status parseStatus(String status) {
+        try {
+            return Task.Status.valueOf(status.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new McpInvalidParamsException("Unknown status: " + status);
         }
-        
-        return switch (toolName) {
-            case "listProjects" -> new McpToolsConfiguration.ListProjectsRequest();
-            case "getProject" -> new McpToolsConfiguration.GetProjectRequest(getLong(arguments, "id"));
-            case "createProject" -> new McpToolsConfiguration.CreateProjectRequest(
-                (String) arguments.get("name"),
-                (String) arguments.get("description")
-            );
-            case "updateProject" -> new McpToolsConfiguration.UpdateProjectRequest(
-                getLong(arguments, "id"),
-                (String) arguments.get("name"),
-                (String) arguments.get("description")
-            );
-            case "deleteProject" -> new McpToolsConfiguration.DeleteProjectRequest(getLong(arguments, "id"));
-            case "listTasks" -> new McpToolsConfiguration.ListTasksRequest(getLong(arguments, "projectId"));
-            case "getTask" -> new McpToolsConfiguration.GetTaskRequest(getLong(arguments, "id"));
-            case "createTask" -> new McpToolsConfiguration.CreateTaskRequest(
-                getLong(arguments, "projectId"),
-                (String) arguments.get("title"),
-                (String) arguments.get("description"),
-                (String) arguments.get("status")
-            );
-            case "updateTask" -> new McpToolsConfiguration.UpdateTaskRequest(
-                getLong(arguments, "id"),
-                (String) arguments.get("title"),
-                (String) arguments.get("description"),
-                (String) arguments.get("status")
-            );
-            case "deleteTask" -> new McpToolsConfiguration.DeleteTaskRequest(getLong(arguments, "id"));
-            case "searchTasksByStatus" -> new McpToolsConfiguration.SearchTasksByStatusRequest(
-                (String) arguments.get("status")
-            );
-            default -> throw new IllegalArgumentException("Unknown tool: " + toolName);
-        };
     }
 
     private Long getLong(Map<String, Object> map, String key) {
         Object value = map.get(key);
         if (value == null) return null;
         if (value instanceof Number) return ((Number) value).longValue();
-        return Long.parseLong(value.toString());
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            throw new McpInvalidParamsException(key + " must be an integer: " + value, e);
+        }
     }
 }
-
@@ -0,0 +1,71 @@
+package com.example.taskmanagement.mcp;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The meters of one MCP tool, registered once when the tool registry is built so recording a call
+ * is a clock read and a histogram increment, with no meter lookup by name and tags on the call path.
+ * Histogram and percentile settings come from the management.metrics.distribution.* properties.
+ */
+public final class McpToolMetrics {
+    public static final String CALLS = "mcp.tool.calls";
+    public static final String ERRORS = "mcp.tool.errors";
+    public static final String RESULT_SIZE = "mcp.tool.result.size";
+
+    private final Timer calls;
+    private final Counter failures;
+    private final Counter invalidParams;
+    private final DistributionSummary resultSize;
+
+    private McpToolMetrics(Timer calls, Counter failures, Counter invalidParams, DistributionSummary resultSize) {
+        this.calls = calls;
+        this.failures = failures;
+        this.invalidParams = invalidParams;
+        this.resultSize = resultSize;
+    }
+
+    public static McpToolMetrics register(MeterRegistry registry, String tool) {
+        return new McpToolMetrics(
+                Timer.builder(CALLS)
+                        .description("Time spent in MCP tool functions, excluding argument binding and result encoding")
+                        .tag("tool", tool)
+                        .register(registry),
+                Counter.builder(ERRORS)
+                        .description("MCP tool calls that failed")
+                        .tag("tool", tool)
+                        .tag("kind", "failure")
+                        .register(registry),
+                Counter.builder(ERRORS)
+                        .description("MCP tool calls rejected because of their arguments")
+                        .tag("tool", tool)
+                        .tag("kind", "invalid_params")
+                        .register(registry),
+                DistributionSummary.builder(RESULT_SIZE)
+                        .description("Length of the JSON encoded tool result")
+                        .baseUnit("chars")
+                        .tag("tool", tool)
+                        .register(registry)
+        );
+    }
+
+    public void recordCall(long nanos) {
+        calls.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    public void recordInvalidParams() {
+        invalidParams.increment();
+    }
+
+    public void recordResultSize(long chars) {
+        resultSize.record(chars);
+    }
+}
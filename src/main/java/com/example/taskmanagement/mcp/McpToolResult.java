@@ -0,0 +1,236 @@
+package com.example.taskmanagement.mcp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.LongConsumer;
+
+/**
+ * A tools/call result: {"content": [{"type": "text", "text": "<result as JSON>"}], "isError": false}.
+ * MCP carries the tool's JSON output as a string, so it has to be encoded twice: once as JSON and once
+ * escaped as a string. Instead of building that string and serializing it again, the result is serialized
+ * through an escaping writer straight into the generator writing the response, in a single pass.
+ * <p>
+ * Nothing is written to the response until the result's generator first flushes its buffer, so a result
+ * that fails to serialize before then is answered with an isError result instead. A failure after that
+ * point can only abort the response. A tool that failed to run is answered with an isError result too,
+ * the same on every transport.
+ */
+@Slf4j
+public final class McpToolResult extends JsonSerializable.Base {
+    private final Object result;
+    private final ObjectWriter resultWriter;
+    private final LongConsumer sizeRecorder;
+    private final Exception failure;
+
+    public McpToolResult(Object result, ObjectWriter resultWriter) {
+        this(result, resultWriter, null);
+    }
+
+    /**
+     * sizeRecorder, if set, is given the length of the encoded result before escaping once it is written.
+     */
+    public McpToolResult(Object result, ObjectWriter resultWriter, LongConsumer sizeRecorder) {
+        this.result = result;
+        this.resultWriter = resultWriter;
+        this.sizeRecorder = sizeRecorder;
+        this.failure = null;
+    }
+
+    private McpToolResult(Exception failure) {
+        this.result = null;
+        this.resultWriter = null;
+        this.sizeRecorder = null;
+        this.failure = failure;
+    }
+
+    /**
+     * The result of a tool that threw: {"content": [{"type": "text", "text": "Error: <message>"}], "isError": true}.
+     */
+    public static McpToolResult error(Exception failure) {
+        return new McpToolResult(failure);
+    }
+
+    public Object result() {
+        return result;
+    }
+
+    /**
+     * The exception of an error result, or null.
+     */
+    public Exception failure() {
+        return failure;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (failure != null) {
+            writeError(gen, failure);
+            return;
+        }
+        JsonStringWriter textWriter = new JsonStringWriter(gen);
+        JsonGenerator text = resultWriter.createGenerator(textWriter);
+        try {
+            resultWriter.writeValue(text, result);
+            // Not closed on failure: closing would flush the partial result
+            text.close();
+        } catch (IOException | RuntimeException e) {
+            if (textWriter.started()) {
+                throw e;
+            }
+            log.error("Error encoding tool result: {}", e.getMessage(), e);
+            writeError(gen, e);
+            return;
+        }
+        textWriter.start();
+        if (sizeRecorder != null) {
+            sizeRecorder.accept(textWriter.written());
+        }
+        gen.writeRaw('"');
+        gen.writeEndObject();
+        gen.writeEndArray();
+        gen.writeBooleanField("isError", false);
+        gen.writeEndObject();
+    }
+
+    // Everything up to the opening quote of the text; the escaped result follows raw
+    private static void writeTextStart(JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("content");
+        gen.writeStartObject();
+        gen.writeStringField("type", "text");
+        gen.writeFieldName("text");
+        // The opening quote is written as the field's value; everything up to the closing quote is raw
+        gen.writeRawValue("\"");
+    }
+
+    private static void writeError(JsonGenerator gen, Exception e) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("content");
+        gen.writeStartObject();
+        gen.writeStringField("type", "text");
+        gen.writeStringField("text", "Error: " + e.getMessage());
+        gen.writeEndObject();
+        gen.writeEndArray();
+        gen.writeBooleanField("isError", true);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    /**
+     * Escapes everything written to it as the contents of a JSON string and appends it raw to the target
+     * generator, after the start of the envelope, which is written on the first write. Closing and flushing
+     * are left to the target.
+     */
+    static final class JsonStringWriter extends Writer {
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private final JsonGenerator target;
+        private final char[] escape = {'\\', 'u', '0', '0', '0', '0'};
+        // A high surrogate at the end of one chunk is held back so a pair is never split between raw writes
+        private char pendingHighSurrogate;
+        private long written;
+        private boolean started;
+
+        JsonStringWriter(JsonGenerator target) {
+            this.target = target;
+        }
+
+        /**
+         * Writes the start of the envelope, unless that has already happened.
+         */
+        void start() throws IOException {
+            if (!started) {
+                started = true;
+                writeTextStart(target);
+            }
+        }
+
+        boolean started() {
+            return started;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            start();
+            written += length;
+            int end = offset + length;
+            int runStart = offset;
+            if (pendingHighSurrogate != 0 && length > 0) {
+                if (Character.isLowSurrogate(chars[offset])) {
+                    target.writeRaw(new char[]{pendingHighSurrogate, chars[offset]}, 0, 2);
+                    runStart = ++offset;
+                } else {
+                    // Unpaired; pass it on alone and let the next char go through the escaping below
+                    target.writeRaw(pendingHighSurrogate);
+                }
+                pendingHighSurrogate = 0;
+            }
+            for (int i = offset; i < end; i++) {
+                char c = chars[i];
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    continue;
+                }
+                if (i > runStart) {
+                    target.writeRaw(chars, runStart, i - runStart);
+                }
+                writeEscaped(c);
+                runStart = i + 1;
+            }
+            if (runStart < end && Character.isHighSurrogate(chars[end - 1])) {
+                pendingHighSurrogate = chars[--end];
+            }
+            if (end > runStart) {
+                target.writeRaw(chars, runStart, end - runStart);
+            }
+        }
+
+        private void writeEscaped(char c) throws IOException {
+            switch (c) {
+                case '"' -> target.writeRaw("\\\"");
+                case '\\' -> target.writeRaw("\\\\");
+                case '\n' -> target.writeRaw("\\n");
+                case '\r' -> target.writeRaw("\\r");
+                case '\t' -> target.writeRaw("\\t");
+                case '\b' -> target.writeRaw("\\b");
+                case '\f' -> target.writeRaw("\\f");
+                default -> {
+                    escape[4] = HEX[c >> 4];
+                    escape[5] = HEX[c & 0xF];
+                    target.writeRaw(escape, 0, escape.length);
+                }
+            }
+        }
+
+        /**
+         * Characters written so far, counted before escaping.
+         */
+        long written() {
+            return written;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (pendingHighSurrogate != 0) {
+                // Unpaired at the very end; pass it on and let the target report it
+                target.writeRaw(pendingHighSurrogate);
+                pendingHighSurrogate = 0;
+            }
+        }
+    }
+}
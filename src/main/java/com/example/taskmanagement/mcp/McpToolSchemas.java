@@ -0,0 +1,239 @@
+package com.example.taskmanagement.mcp;
+
+import com.fasterxml.jackson.annotation.JsonClassDescription;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Derives the JSON Schema of a tool's input from its request record: one property per record component,
+ * described by @JsonPropertyDescription and listed as required when @JsonProperty(required = true).
+ * Nested records and lists of records become nested schemas.
+ */
+final class McpToolSchemas {
+
+    private McpToolSchemas() {
+    }
+
+    private static final ClassValue<RequiredArguments> REQUIRED_ARGUMENTS = new ClassValue<>() {
+        @Override
+        protected RequiredArguments computeValue(Class<?> recordType) {
+            List<Argument> arguments = new ArrayList<>();
+            for (RecordComponent component : recordType.getRecordComponents()) {
+                JsonProperty property = annotation(component, JsonProperty.class);
+                boolean required = property != null && property.required();
+                Class<?> nested = recordElementType(component.getGenericType());
+                if (required || nested != null) {
+                    arguments.add(new Argument(propertyName(component, property), component.getAccessor(), required,
+                            nested));
+                }
+            }
+            return new RequiredArguments(List.copyOf(arguments));
+        }
+    };
+
+    /**
+     * The components of a request record marked @JsonProperty(required = true). Jackson rejects absent ones
+     * while binding but accepts an explicit null, so they are checked again afterwards. Components holding
+     * a record, or a list or array of records, are checked against that record; a null element of such a
+     * list counts as missing.
+     */
+    record RequiredArguments(List<Argument> arguments) {
+        static final RequiredArguments NONE = new RequiredArguments(List.of());
+
+        /**
+         * The path of the first missing required argument, e.g. "tasks[2].title", or null when none is missing.
+         */
+        String firstMissing(Object value) {
+            return firstMissing(value, "");
+        }
+
+        private String firstMissing(Object value, String prefix) {
+            for (Argument argument : arguments) {
+                String path = prefix + argument.name();
+                Object component = argument.valueIn(value);
+                if (component == null) {
+                    if (argument.required()) {
+                        return path;
+                    }
+                    continue;
+                }
+                if (argument.nested() != null) {
+                    String missing = firstMissingIn(REQUIRED_ARGUMENTS.get(argument.nested()), component, path);
+                    if (missing != null) {
+                        return missing;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static String firstMissingIn(RequiredArguments nested, Object component, String path) {
+            Iterable<?> elements;
+            if (component instanceof Collection<?> collection) {
+                elements = collection;
+            } else if (component instanceof Object[] array) {
+                elements = Arrays.asList(array);
+            } else {
+                return nested.firstMissing(component, path + ".");
+            }
+            int index = 0;
+            for (Object element : elements) {
+                String elementPath = path + "[" + index++ + "]";
+                String missing = element == null ? elementPath : nested.firstMissing(element, elementPath + ".");
+                if (missing != null) {
+                    return missing;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A record component that is required, holds records (nested is their type), or both.
+     */
+    record Argument(String name, Method accessor, boolean required, Class<?> nested) {
+        Object valueIn(Object arguments) {
+            try {
+                return accessor.invoke(arguments);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read argument " + name, e);
+            }
+        }
+    }
+
+    static RequiredArguments requiredArguments(Class<?> inputType) {
+        return inputType != null && inputType.isRecord() ? REQUIRED_ARGUMENTS.get(inputType) : RequiredArguments.NONE;
+    }
+
+    // The record a component holds directly or as the elements of a collection or array, as typeSchema reads it
+    private static Class<?> recordElementType(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            return Collection.class.isAssignableFrom(raw)
+                    ? recordElementType(parameterized.getActualTypeArguments()[0])
+                    : null;
+        }
+        if (type instanceof Class<?> cls) {
+            if (cls.isArray()) {
+                return recordElementType(cls.getComponentType());
+            }
+            return cls.isRecord() ? cls : null;
+        }
+        return null;
+    }
+
+    /**
+     * The binding error with the path of the offending argument, e.g. "limit: Cannot deserialize value
+     * of type `java.lang.Integer` from String "ten"".
+     */
+    static String describe(JsonMappingException e) {
+        String path = e.getPath().stream()
+                .map(reference -> reference.getFieldName() != null
+                        ? reference.getFieldName()
+                        : "[" + reference.getIndex() + "]")
+                .collect(Collectors.joining("."));
+        return path.isEmpty() ? e.getOriginalMessage() : path + ": " + e.getOriginalMessage();
+    }
+
+    static Map<String, Object> inputSchema(Class<?> inputType) {
+        if (inputType == null || !inputType.isRecord()) {
+            // Tools taking an untyped argument map accept any object
+            return Map.of("type", "object", "properties", Map.of());
+        }
+        return objectSchema(inputType, false);
+    }
+
+    private static Map<String, Object> objectSchema(Class<?> recordType, boolean describe) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+        for (RecordComponent component : recordType.getRecordComponents()) {
+            JsonProperty property = annotation(component, JsonProperty.class);
+            String name = propertyName(component, property);
+
+            Map<String, Object> schema = new LinkedHashMap<>(typeSchema(component.getGenericType()));
+            JsonPropertyDescription description = annotation(component, JsonPropertyDescription.class);
+            if (description != null) {
+                schema.put("description", description.value());
+            }
+            properties.put(name, Collections.unmodifiableMap(schema));
+            if (property != null && property.required()) {
+                required.add(name);
+            }
+        }
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        JsonClassDescription classDescription = recordType.getAnnotation(JsonClassDescription.class);
+        if (describe && classDescription != null) {
+            schema.put("description", classDescription.value());
+        }
+        schema.put("properties", Collections.unmodifiableMap(properties));
+        if (!required.isEmpty()) {
+            schema.put("required", List.copyOf(required));
+        }
+        return Collections.unmodifiableMap(schema);
+    }
+
+    private static Map<String, Object> typeSchema(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            if (Collection.class.isAssignableFrom(raw)) {
+                return Map.of("type", "array", "items", typeSchema(parameterized.getActualTypeArguments()[0]));
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return Map.of("type", "object");
+            }
+            return typeSchema(raw);
+        }
+        if (!(type instanceof Class<?> cls)) {
+            return Map.of();
+        }
+        if (cls.isArray()) {
+            return Map.of("type", "array", "items", typeSchema(cls.getComponentType()));
+        }
+        if (cls == String.class || cls == Character.class || cls == char.class) {
+            return Map.of("type", "string");
+        }
+        if (cls == Boolean.class || cls == boolean.class) {
+            return Map.of("type", "boolean");
+        }
+        if (cls == Long.class || cls == long.class || cls == Integer.class || cls == int.class
+                || cls == Short.class || cls == short.class) {
+            return Map.of("type", "integer");
+        }
+        if (Number.class.isAssignableFrom(cls) || cls.isPrimitive()) {
+            return Map.of("type", "number");
+        }
+        if (cls.isEnum()) {
+            return Map.of("type", "string", "enum",
+                    Arrays.stream(cls.getEnumConstants()).map(Object::toString).toList());
+        }
+        if (cls.isRecord()) {
+            return objectSchema(cls, true);
+        }
+        return Map.of("type", "object");
+    }
+
+    private static String propertyName(RecordComponent component, JsonProperty property) {
+        return property != null && !property.value().isEmpty() ? property.value() : component.getName();
+    }
+
+    // Jackson's annotations do not target record components, so javac copies them to the accessor and field
+    private static <A extends Annotation> A annotation(RecordComponent component, Class<A> type) {
+        A annotation = component.getAccessor().getAnnotation(type);
+        if (annotation != null) {
+            return annotation;
+        }
+        try {
+            return component.getDeclaringRecord().getDeclaredField(component.getName()).getAnnotation(type);
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package com.example.taskmanagement.mcp;
 
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.ProjectReport;
+import com.example.taskmanagement.dto.StatusReport;
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.dto.TaskPatch;
+import com.example.taskmanagement.dto.TaskSearchHit;
 import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.ProjectTaskStats;
 import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.service.ProjectStatsService;
+import com.example.taskmanagement.service.ReportService;
+import com.example.taskmanagement.service.TaskSearchService;
 import com.example.taskmanagement.service.TaskService;
 import com.fasterxml.jackson.annotation.JsonClassDescription;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -16,7 +26,6 @@ import org.springframework.context.annotation.Description;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * MCP Tools Configuration using Spring AI
@@ -28,22 +37,40 @@ public class McpToolsConfiguration {
 
     private final ProjectService projectService;
     private final TaskService taskService;
+    private final ProjectStatsService projectStatsService;
+    private final TaskSearchService taskSearchService;
+    private final ReportService reportService;
+    private final McpServerStats serverStats;
 
     // ==================== PROJECT TOOLS ====================
 
     @Bean
-    @Description("List all projects in the system")
-    public Function<ListProjectsRequest, List<Project>> listProjects() {
-        return request -> projectService.getAllProjects();
+    @Description("List the projects in the system with their task counts by status. " +
+            "Set includeTasks to also return each project's full task list. " +
+            "Results are paged; pass nextCursor back as cursor to get the next page")
+    @ReadOnlyTool
+    public Function<ListProjectsRequest, CursorPage<?>> listProjects() {
+        return request -> Boolean.TRUE.equals(request.includeTasks())
+                ? projectService.getProjectsPage(request.cursor(), request.limit())
+                : projectService.getProjectSummariesPage(request.cursor(), request.limit());
     }
 
     @Bean
     @Description("Get details of a specific project by its ID")
+    @ReadOnlyTool
     public Function<GetProjectRequest, Project> getProject() {
         return request -> projectService.getProjectById(request.id())
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + request.id()));
     }
 
+    @Bean
+    @Description("Get a project's task counts by status (total, TODO, IN_PROGRESS, DONE) without loading its tasks")
+    @ReadOnlyTool
+    public Function<GetProjectStatsRequest, ProjectTaskStats> getProjectStats() {
+        return request -> projectStatsService.getStats(request.projectId())
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + request.projectId()));
+    }
+
     @Bean
     @Description("Create a new project with name and description")
     public Function<CreateProjectRequest, Project> createProject() {
@@ -84,13 +111,16 @@ public class McpToolsConfiguration {
     // ==================== TASK TOOLS ====================
 
     @Bean
-    @Description("List all tasks for a specific project")
-    public Function<ListTasksRequest, List<Task>> listTasks() {
-        return request -> taskService.getTasksByProjectId(request.projectId());
+    @Description("List the tasks of a specific project. " +
+            "Results are paged; pass nextCursor back as cursor to get the next page")
+    @ReadOnlyTool
+    public Function<ListTasksRequest, CursorPage<Task>> listTasks() {
+        return request -> taskService.getTasksPageByProjectId(request.projectId(), request.cursor(), request.limit());
     }
 
     @Bean
     @Description("Get details of a specific task by its ID")
+    @ReadOnlyTool
     public Function<GetTaskRequest, Task> getTask() {
         return request -> taskService.getTaskById(request.id())
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + request.id()));
@@ -112,6 +142,30 @@ public class McpToolsConfiguration {
         };
     }
 
+    @Bean
+    @Description("Create many tasks in one project in a single call; use this instead of repeated createTask calls")
+    public Function<CreateTasksRequest, Map<String, Object>> createTasks() {
+        return request -> {
+            List<Task> tasks = request.tasks().stream()
+                    .map(newTask -> Task.builder()
+                            .title(newTask.title())
+                            .description(newTask.description())
+                            .status(newTask.status() != null
+                                    ? Task.Status.valueOf(newTask.status().toUpperCase())
+                                    : Task.Status.TODO)
+                            .build())
+                    .toList();
+            List<Long> ids = taskService.createTasks(request.projectId(), tasks).stream()
+                    .map(Task::getId)
+                    .toList();
+            return Map.of(
+                    "projectId", request.projectId(),
+                    "created", ids.size(),
+                    "ids", ids
+            );
+        };
+    }
+
     @Bean
     @Description("Update an existing task's title, description, and/or status")
     public Function<UpdateTaskRequest, Task> updateTask() {
@@ -125,6 +179,22 @@ public class McpToolsConfiguration {
         };
     }
 
+    @Bean
+    @Description("Change only the status of a task (TODO, IN_PROGRESS, or DONE). Cheaper than updateTask for status moves")
+    public Function<SetTaskStatusRequest, Map<String, Object>> setTaskStatus() {
+        return request -> {
+            Task.Status status = Task.Status.valueOf(request.status().toUpperCase());
+            if (!taskService.patchTask(request.id(), new TaskPatch(null, null, status))) {
+                throw new RuntimeException("Task not found with id: " + request.id());
+            }
+            return Map.of(
+                    "success", true,
+                    "id", request.id(),
+                    "status", status
+            );
+        };
+    }
+
     @Bean
     @Description("Delete a task by its ID")
     public Function<DeleteTaskRequest, Map<String, Object>> deleteTask() {
@@ -139,23 +209,108 @@ public class McpToolsConfiguration {
     }
 
     @Bean
-    @Description("Search for tasks across all projects by their status (TODO, IN_PROGRESS, or DONE)")
-    public Function<SearchTasksByStatusRequest, List<Task>> searchTasksByStatus() {
+    @Description("Move all tasks matching a filter (projectId, current status, and/or ids) to a new status " +
+            "in one operation. Requires projectId or ids. Returns the number of tasks changed")
+    public Function<BulkUpdateTaskStatusRequest, Map<String, Object>> bulkUpdateTaskStatus() {
+        return request -> {
+            TaskFilter filter = new TaskFilter(request.projectId(), parseStatus(request.fromStatus()), request.ids());
+            int affected = taskService.bulkUpdateStatus(filter, parseStatus(request.toStatus()));
+            return Map.of(
+                    "success", true,
+                    "affected", affected
+            );
+        };
+    }
+
+    @Bean
+    @Description("Delete all tasks matching a filter (projectId, status, and/or ids) in one operation. " +
+            "Requires projectId or ids. Returns the number of tasks deleted")
+    public Function<BulkDeleteTasksRequest, Map<String, Object>> bulkDeleteTasks() {
+        return request -> {
+            TaskFilter filter = new TaskFilter(request.projectId(), parseStatus(request.status()), request.ids());
+            int affected = taskService.bulkDelete(filter);
+            return Map.of(
+                    "success", true,
+                    "affected", affected
+            );
+        };
+    }
+
+    @Bean
+    @Description("Search for tasks by their status (TODO, IN_PROGRESS, or DONE), optionally within one project. " +
+            "Results are paged; pass nextCursor back as cursor to get the next page")
+    @ReadOnlyTool
+    public Function<SearchTasksByStatusRequest, CursorPage<Task>> searchTasksByStatus() {
         return request -> {
             Task.Status filterStatus = Task.Status.valueOf(request.status().toUpperCase());
-            return projectService.getAllProjects().stream()
-                    .filter(proj -> proj.getTasks() != null)
-                    .flatMap(proj -> proj.getTasks().stream())
-                    .filter(task -> task.getStatus() == filterStatus)
-                    .collect(Collectors.toList());
+            return taskService.searchTasksByStatus(filterStatus, request.projectId(), request.cursor(), request.limit());
         };
     }
 
+    @Bean
+    @Description("Full-text search over task titles and descriptions. Words match whole words or prefixes; " +
+            "results are ranked best first and can be filtered by project and status")
+    @ReadOnlyTool
+    public Function<SearchTasksRequest, List<TaskSearchHit>> searchTasks() {
+        return request -> taskSearchService.search(
+                request.query(),
+                request.projectId(),
+                request.status() != null ? Task.Status.valueOf(request.status().toUpperCase()) : null,
+                request.limit());
+    }
+
+    // ==================== REPORT TOOLS ====================
+
+    @Bean
+    @Description("Summarize a project in one call: its task counts by status, the newest tasks of each status " +
+            "and its most recent changes. Use this instead of getProject plus listTasks when summarizing")
+    @ReadOnlyTool
+    public Function<ProjectSummaryRequest, ProjectReport> projectSummary() {
+        return request -> reportService.projectReport(request.projectId(), request.tasksPerStatus(), request.recentChanges())
+                .orElseThrow(() -> new RuntimeException("Project not found with id: " + request.projectId()));
+    }
+
+    @Bean
+    @Description("Report on all tasks in one status in one call: the total, the count and newest tasks of each " +
+            "project, and the most recent changes into or out of the status. Optionally limited to one project")
+    @ReadOnlyTool
+    public Function<StatusReportRequest, StatusReport> statusReport() {
+        return request -> reportService.statusReport(parseStatus(request.status()), request.projectId(),
+                request.tasksPerProject(), request.maxProjects(), request.recentChanges());
+    }
+
+    // ==================== SERVER TOOLS ====================
+
+    @Bean
+    @Description("Server performance statistics: call counts, throughput and errors since startup, and latency " +
+            "percentiles (p50/p99/p999) per MCP tool, REST endpoint and repository method; percentileWindow " +
+            "says which period each entry's percentiles cover")
+    @ReadOnlyTool
+    public Function<ServerStatsRequest, Map<String, Object>> serverStats() {
+        return request -> serverStats.snapshot(request.minCalls() != null ? request.minCalls() : 1);
+    }
+
+    private static Task.Status parseStatus(String status) {
+        return status != null ? Task.Status.valueOf(status.toUpperCase()) : null;
+    }
+
     // ==================== REQUEST DTOs ====================
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonClassDescription("Request to list all projects")
-    public record ListProjectsRequest() {}
+    public record ListProjectsRequest(
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Embed each project's full task list (default: false, counts only)")
+            Boolean includeTasks,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Cursor from a previous page's nextCursor")
+            String cursor,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Maximum number of projects to return (default 100, max 500)")
+            Integer limit
+    ) {}
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonClassDescription("Request to get a specific project by ID")
@@ -165,6 +320,14 @@ public class McpToolsConfiguration {
             Long id
     ) {}
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request to get task counts for a project")
+    public record GetProjectStatsRequest(
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("The unique identifier of the project")
+            Long projectId
+    ) {}
+
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonClassDescription("Request to create a new project")
     public record CreateProjectRequest(
@@ -206,7 +369,15 @@ public class McpToolsConfiguration {
     public record ListTasksRequest(
             @JsonProperty(required = true)
             @JsonPropertyDescription("The project ID to list tasks from")
-            Long projectId
+            Long projectId,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Cursor from a previous page's nextCursor")
+            String cursor,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Maximum number of tasks to return (default 100, max 500)")
+            Integer limit
     ) {}
 
     @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -237,6 +408,34 @@ public class McpToolsConfiguration {
             String status
     ) {}
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request to create many tasks in one project")
+    public record CreateTasksRequest(
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("The project ID to create the tasks in")
+            Long projectId,
+
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("The tasks to create")
+            List<NewTask> tasks
+    ) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("A task to create as part of a batch")
+    public record NewTask(
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("Title of the task")
+            String title,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Description of the task")
+            String description,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Status of the task: TODO, IN_PROGRESS, or DONE (default: TODO)")
+            String status
+    ) {}
+
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonClassDescription("Request to update an existing task")
     public record UpdateTaskRequest(
@@ -257,6 +456,18 @@ public class McpToolsConfiguration {
             String status
     ) {}
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request to change the status of a task")
+    public record SetTaskStatusRequest(
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("The unique identifier of the task")
+            Long id,
+
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("New status for the task: TODO, IN_PROGRESS, or DONE")
+            String status
+    ) {}
+
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonClassDescription("Request to delete a task")
     public record DeleteTaskRequest(
@@ -265,12 +476,127 @@ public class McpToolsConfiguration {
             Long id
     ) {}
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request to move many tasks to a new status")
+    public record BulkUpdateTaskStatusRequest(
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only change tasks of this project")
+            Long projectId,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only change tasks currently in this status: TODO, IN_PROGRESS, or DONE")
+            String fromStatus,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only change tasks with these IDs")
+            List<Long> ids,
+
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("New status for the matched tasks: TODO, IN_PROGRESS, or DONE")
+            String toStatus
+    ) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request to delete many tasks")
+    public record BulkDeleteTasksRequest(
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only delete tasks of this project")
+            Long projectId,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only delete tasks in this status: TODO, IN_PROGRESS, or DONE")
+            String status,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only delete tasks with these IDs")
+            List<Long> ids
+    ) {}
+
     @JsonInclude(JsonInclude.Include.NON_NULL)
     @JsonClassDescription("Request to search tasks by status")
     public record SearchTasksByStatusRequest(
             @JsonProperty(required = true)
             @JsonPropertyDescription("Status to filter by: TODO, IN_PROGRESS, or DONE")
-            String status
+            String status,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only return tasks of this project")
+            Long projectId,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Cursor from a previous page's nextCursor")
+            String cursor,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Maximum number of tasks to return (default 100, max 500)")
+            Integer limit
     ) {}
-}
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request to search tasks by text")
+    public record SearchTasksRequest(
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("Words to search for in task titles and descriptions")
+            String query,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only return tasks of this project")
+            Long projectId,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only return tasks with this status: TODO, IN_PROGRESS, or DONE")
+            String status,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Maximum number of results (default 20, max 200)")
+            Integer limit
+    ) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request to summarize a project")
+    public record ProjectSummaryRequest(
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("The project ID to summarize")
+            Long projectId,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Newest tasks to include per status (default 5, max 50)")
+            Integer tasksPerStatus,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Recent changes to include (default 10, max 100)")
+            Integer recentChanges
+    ) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request to report on the tasks in one status")
+    public record StatusReportRequest(
+            @JsonProperty(required = true)
+            @JsonPropertyDescription("Status to report on: TODO, IN_PROGRESS, or DONE")
+            String status,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Only report on tasks of this project")
+            Long projectId,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Newest tasks to include per project (default 5, max 50)")
+            Integer tasksPerProject,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Projects to include, in id order (default 20, max 200)")
+            Integer maxProjects,
+
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Recent changes to include (default 10, max 100)")
+            Integer recentChanges
+    ) {}
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonClassDescription("Request for server performance statistics")
+    public record ServerStatsRequest(
+            @JsonProperty(required = false)
+            @JsonPropertyDescription("Leave out tools, endpoints and methods called fewer times than this (default 1)")
+            Long minCalls
+    ) {}
+}
@@ -0,0 +1,13 @@
+package com.example.taskmanagement.mcp;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks an MCP tool bean that only reads data. Read-only calls in a JSON-RPC batch may run concurrently
+ * with each other; every other tool call is treated as a write and runs alone, in submission order.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadOnlyTool {
+}
@@ -0,0 +1,29 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Task counts per status for one project, kept current by TaskService writes.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectTaskStats {
+    @Id
+    private Long projectId;
+
+    private long taskCount;
+
+    private long todoCount;
+
+    private long inProgressCount;
+
+    private long doneCount;
+
+    public ProjectTaskStats(Long projectId) {
+        this.projectId = projectId;
+    }
+}
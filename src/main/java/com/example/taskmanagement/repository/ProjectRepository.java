@@ -1,7 +1,75 @@
 package com.example.taskmanagement.repository;
 
+import com.example.taskmanagement.dto.ProjectSummary;
 import com.example.taskmanagement.model.Project;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    @EntityGraph(attributePaths = "tasks")
+    Optional<Project> findWithTasksById(Long id);
+
+    @EntityGraph(attributePaths = "tasks")
+    @Query("select p from Project p order by p.id")
+    List<Project> findAllWithTasks();
+
+    @Query("""
+            select new com.example.taskmanagement.dto.ProjectSummary(
+                p.id, p.name, p.description,
+                coalesce(s.taskCount, 0L), coalesce(s.todoCount, 0L),
+                coalesce(s.inProgressCount, 0L), coalesce(s.doneCount, 0L))
+            from Project p left join ProjectTaskStats s on s.projectId = p.id
+            order by p.id
+            """)
+    List<ProjectSummary> findAllSummaries();
+
+    @Query("""
+            select new com.example.taskmanagement.dto.ProjectSummary(
+                p.id, p.name, p.description,
+                coalesce(s.taskCount, 0L), coalesce(s.todoCount, 0L),
+                coalesce(s.inProgressCount, 0L), coalesce(s.doneCount, 0L))
+            from Project p left join ProjectTaskStats s on s.projectId = p.id
+            where p.id > :afterId
+            order by p.id
+            """)
+    List<ProjectSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            select new com.example.taskmanagement.dto.ProjectSummary(
+                p.id, p.name, p.description,
+                coalesce(s.taskCount, 0L), coalesce(s.todoCount, 0L),
+                coalesce(s.inProgressCount, 0L), coalesce(s.doneCount, 0L))
+            from Project p left join ProjectTaskStats s on s.projectId = p.id
+            where p.id = :id
+            """)
+    Optional<ProjectSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select p.id from Project p where p.id > :afterId order by p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Projects with their tasks for one page of ids. Paging is done on the ids first because a row limit
+     * on a collection fetch would be applied in memory after loading every project.
+     */
+    @EntityGraph(attributePaths = "tasks")
+    @Query("select p from Project p where p.id in :ids order by p.id")
+    List<Project> findAllWithTasksByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("select p.id from Project p order by p.id")
+    List<Long> findAllIds();
+
+    /**
+     * Deletes the project row only; its tasks must already be gone. Unlike delete(project),
+     * this does not load the task collection to apply orphan removal.
+     */
+    @Modifying
+    @Query("delete from Project p where p.id = :id")
+    int deleteProjectRow(@Param("id") Long id);
 }
@@ -0,0 +1,58 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.ProjectTaskStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProjectTaskStatsRepository extends JpaRepository<ProjectTaskStats, Long> {
+    @Modifying
+    @Query("""
+            update ProjectTaskStats s
+            set s.taskCount = s.taskCount + :total,
+                s.todoCount = s.todoCount + :todo,
+                s.inProgressCount = s.inProgressCount + :inProgress,
+                s.doneCount = s.doneCount + :done
+            where s.projectId = :projectId
+            """)
+    int increment(@Param("projectId") Long projectId,
+                  @Param("total") long total,
+                  @Param("todo") long todo,
+                  @Param("inProgress") long inProgress,
+                  @Param("done") long done);
+
+    /**
+     * Sets a project's counters, creating the row if there is none. H2's MERGE ... KEY, as the seeder
+     * writes the rows, so a row created concurrently is updated rather than failing on the primary key.
+     */
+    @Modifying
+    @Query(value = """
+            merge into project_task_stats (project_id, task_count, todo_count, in_progress_count, done_count)
+            key (project_id) values (:projectId, :total, :todo, :inProgress, :done)
+            """, nativeQuery = true)
+    int upsert(@Param("projectId") Long projectId,
+               @Param("total") long total,
+               @Param("todo") long todo,
+               @Param("inProgress") long inProgress,
+               @Param("done") long done);
+
+    /**
+     * One row of (todo, inProgress, done) totals over all projects, or over one project if projectId is set.
+     */
+    @Query("""
+            select coalesce(sum(s.todoCount), 0L), coalesce(sum(s.inProgressCount), 0L), coalesce(sum(s.doneCount), 0L)
+            from ProjectTaskStats s
+            where :projectId is null or s.projectId = :projectId
+            """)
+    List<Object[]> sumCounts(@Param("projectId") Long projectId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProjectTaskStats s where s.projectId = :projectId")
+    Optional<ProjectTaskStats> findForUpdate(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.model.Task;
+
+import java.util.List;
+
+/**
+ * Set-based task statements built from a TaskFilter; each runs as a single UPDATE or DELETE.
+ */
+public interface TaskBulkOperations {
+    /**
+     * Sets the status of the matching tasks that are not in it yet. Returns rows of (projectId, previous
+     * status, count) for exactly the rows the statement changed.
+     */
+    List<Object[]> updateStatusMatching(TaskFilter filter, Task.Status status);
+
+    /**
+     * Deletes the matching tasks. Returns rows of (projectId, status, count) for exactly the rows the
+     * statement deleted.
+     */
+    List<Object[]> deleteMatchingByGroup(TaskFilter filter);
+
+    int deleteMatching(TaskFilter filter);
+}
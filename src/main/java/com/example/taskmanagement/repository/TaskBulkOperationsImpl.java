@@ -0,0 +1,95 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskBulkOperationsImpl implements TaskBulkOperations {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> updateStatusMatching(TaskFilter filter, Task.Status status) {
+        return changedGroups("update task set status = :newStatus", filter, status);
+    }
+
+    @Override
+    public List<Object[]> deleteMatchingByGroup(TaskFilter filter) {
+        return changedGroups("delete from task", filter, null);
+    }
+
+    @Override
+    public int deleteMatching(TaskFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Task> delete = cb.createCriteriaDelete(Task.class);
+        Root<Task> task = delete.from(Task.class);
+        delete.where(predicates(cb, task, filter));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    /**
+     * Runs the UPDATE or DELETE inside an H2 OLD TABLE query, which returns the rows it changed as they
+     * were before, and groups them. The counts come from the statement itself, so they are exact even
+     * while tasks change status concurrently, and no separate count query is needed.
+     */
+    private List<Object[]> changedGroups(String dataChange, TaskFilter filter, Task.Status newStatus) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.projectId() != null) {
+            conditions.add("project_id = :projectId");
+        }
+        if (filter.status() != null) {
+            conditions.add("status = :status");
+        }
+        if (filter.ids() != null && !filter.ids().isEmpty()) {
+            conditions.add("id in (:ids)");
+        }
+        if (newStatus != null) {
+            conditions.add("(status is null or status <> :newStatus)");
+        }
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+        Query query = entityManager.createNativeQuery("select project_id, status, count(*) from old table ("
+                + dataChange + where + ") group by project_id, status");
+        if (filter.projectId() != null) {
+            query.setParameter("projectId", filter.projectId());
+        }
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status().name());
+        }
+        if (filter.ids() != null && !filter.ids().isEmpty()) {
+            query.setParameter("ids", filter.ids());
+        }
+        if (newStatus != null) {
+            query.setParameter("newStatus", newStatus.name());
+        }
+        List<Object[]> groups = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            groups.add(new Object[]{
+                    ((Number) columns[0]).longValue(),
+                    columns[1] != null ? Task.Status.valueOf(columns[1].toString()) : null,
+                    ((Number) columns[2]).longValue()
+            });
+        }
+        return groups;
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, Root<Task> task, TaskFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.projectId() != null) {
+            predicates.add(cb.equal(task.get("project").get("id"), filter.projectId()));
+        }
+        if (filter.status() != null) {
+            predicates.add(cb.equal(task.get("status"), filter.status()));
+        }
+        if (filter.ids() != null && !filter.ids().isEmpty()) {
+            predicates.add(task.get("id").in(filter.ids()));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
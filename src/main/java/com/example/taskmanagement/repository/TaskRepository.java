@@ -1,11 +1,104 @@
 package com.example.taskmanagement.repository;
 
+import com.example.taskmanagement.dto.TaskRef;
 import com.example.taskmanagement.model.Task;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskBulkOperations {
     List<Task> findByProjectId(Long projectId);
-}
 
+    List<Task> findByProjectIdAndIdGreaterThanOrderByIdAsc(Long projectId, Long afterId, Limit limit);
+
+    List<Task> findByStatusOrderByIdAsc(Task.Status status);
+
+    List<Task> findByStatusAndIdGreaterThanOrderByIdAsc(Task.Status status, Long afterId, Limit limit);
+
+    List<Task> findByStatusAndProjectIdAndIdGreaterThanOrderByIdAsc(Task.Status status, Long projectId,
+                                                                    Long afterId, Limit limit);
+
+    @Query("select new com.example.taskmanagement.dto.TaskRef(t.project.id, t.status) from Task t where t.id = :id")
+    Optional<TaskRef> findRefById(@Param("id") Long id);
+
+    /**
+     * Applies the non-null fields in one statement. Only matches while the row still has expectedStatus,
+     * so the caller's view of the previous status (and the counters derived from it) cannot go stale.
+     */
+    @Modifying
+    @Query("""
+            update Task t
+            set t.title = coalesce(:title, t.title),
+                t.description = coalesce(:description, t.description),
+                t.status = coalesce(:status, t.status)
+            where t.id = :id
+              and (t.status = :expectedStatus or (t.status is null and :expectedStatus is null))
+            """)
+    int patch(@Param("id") Long id,
+              @Param("title") String title,
+              @Param("description") String description,
+              @Param("status") Task.Status status,
+              @Param("expectedStatus") Task.Status expectedStatus);
+
+    @Query("select t.status, count(t) from Task t where t.project.id = :projectId group by t.status")
+    List<Object[]> countByStatus(@Param("projectId") Long projectId);
+
+    /**
+     * The newest perStatus tasks of each status in one project as (id, title, description, status) rows,
+     * ranked in the database so only the rows that are returned leave it.
+     */
+    @Query(value = """
+            select id, title, description, status from (
+                select t.id, t.title, t.description, t.status,
+                       row_number() over (partition by t.status order by t.id desc) as task_rank
+                from task t
+                where t.project_id = :projectId and t.status is not null
+            ) ranked
+            where task_rank <= :perStatus
+            order by status, id desc
+            """, nativeQuery = true)
+    List<Object[]> findNewestPerStatus(@Param("projectId") Long projectId, @Param("perStatus") int perStatus);
+
+    /**
+     * Tasks in one status grouped by project, as (project_id, project_name, status_count, id, title, description)
+     * rows: the newest perProject tasks of each of the first maxProjects projects, with each project's count of
+     * tasks in the status. The project ids are picked first from the (status, project_id) index, so only the
+     * rows of those projects are counted and ranked, not every task in the status.
+     */
+    @Query(value = """
+            select ranked.project_id, p.name, ranked.status_count, ranked.id, ranked.title, ranked.description from (
+                select t.project_id, t.id, t.title, t.description,
+                       count(*) over (partition by t.project_id) as status_count,
+                       row_number() over (partition by t.project_id order by t.id desc) as task_rank
+                from task t
+                where t.status = :status
+                  and t.project_id in (
+                      select distinct s.project_id from task s
+                      where s.status = :status
+                        and (cast(:projectId as bigint) is null or s.project_id = :projectId)
+                      order by s.project_id
+                      limit :maxProjects)
+            ) ranked
+            join project p on p.id = ranked.project_id
+            where ranked.task_rank <= :perProject
+            order by ranked.project_id, ranked.id desc
+            """, nativeQuery = true)
+    List<Object[]> findNewestPerProjectByStatus(@Param("status") String status,
+                                                @Param("projectId") Long projectId,
+                                                @Param("perProject") int perProject,
+                                                @Param("maxProjects") int maxProjects);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<Task> streamByProjectIdOrderByIdAsc(Long projectId);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    Stream<Task> streamAllByOrderByIdAsc();
+}
@@ -0,0 +1,115 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.event.ChangeRecord;
+import com.example.taskmanagement.event.ProjectChangedEvent;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TasksBulkChangedEvent;
+import com.example.taskmanagement.event.TasksCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Sequenced feed of committed task and project changes. The most recent bufferSize records are kept
+ * so clients that reconnect with the last sequence number they saw get the changes they missed.
+ */
+@Slf4j
+@Service
+public class ChangeFeedService {
+    private final int bufferSize;
+    private final Sinks.Many<ChangeRecord> sink;
+    // Guarded by this; sequence numbers are assigned and emitted in one step so subscribers see them in order
+    private long lastSeq;
+    // Guarded by this; the same records as the replay buffer, for snapshots that must not wait on a subscription
+    private final Deque<ChangeRecord> recent = new ArrayDeque<>();
+
+    public ChangeFeedService(@Value("${app.changes.buffer-size:1000}") int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.sink = Sinks.many().replay().limit(bufferSize);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        append("task", event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        append("project", event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        append("tasks", event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksCreated(TasksCreatedEvent event) {
+        append("tasks", event);
+    }
+
+    /**
+     * Changes after the given sequence number followed by live changes. A null afterSeq starts at the
+     * current end of the feed. If the first change delivered is not the one right after afterSeq, the
+     * changes in between have already left the buffer and a reset record comes first; the check is made
+     * on what the subscription actually receives, so changes dropped while it is set up are caught too.
+     * An afterSeq the feed has not reached yet (e.g. from before a restart) also gets a reset.
+     */
+    public Flux<ChangeRecord> changesAfter(Long afterSeq) {
+        return Flux.defer(() -> {
+            long end = currentSeq();
+            if (afterSeq == null || afterSeq > end) {
+                Flux<ChangeRecord> live = sink.asFlux().filter(record -> record.seq() > end);
+                return afterSeq == null ? live : Flux.concat(Flux.just(ChangeRecord.reset(end)), live);
+            }
+            return sink.asFlux()
+                    .filter(record -> record.seq() > afterSeq)
+                    .switchOnFirst((first, records) -> first.hasValue() && first.get().seq() != afterSeq + 1
+                            ? Flux.concat(Flux.just(ChangeRecord.reset(first.get().seq() - 1)), records)
+                            : records);
+        });
+    }
+
+    /**
+     * The newest buffered changes accepted by the filter, at most limit of them and oldest first.
+     */
+    public synchronized List<ChangeRecord> recentChanges(Predicate<ChangeRecord> filter, int limit) {
+        List<ChangeRecord> changes = new ArrayList<>(Math.max(Math.min(limit, recent.size()), 0));
+        for (Iterator<ChangeRecord> it = recent.descendingIterator(); it.hasNext() && changes.size() < limit; ) {
+            ChangeRecord record = it.next();
+            if (filter.test(record)) {
+                changes.add(record);
+            }
+        }
+        Collections.reverse(changes);
+        return changes;
+    }
+
+    public synchronized long currentSeq() {
+        return lastSeq;
+    }
+
+    private synchronized void append(String kind, Object change) {
+        ChangeRecord record = new ChangeRecord(++lastSeq, Instant.now(), kind, change);
+        if (recent.size() == bufferSize) {
+            recent.removeFirst();
+        }
+        recent.addLast(record);
+        Sinks.EmitResult result = sink.tryEmitNext(record);
+        if (result.isFailure()) {
+            log.warn("Change {} was not added to the feed: {}", record.seq(), result);
+        }
+    }
+}
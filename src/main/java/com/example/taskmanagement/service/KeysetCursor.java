@@ -0,0 +1,65 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Opaque cursors for keyset pagination on ascending ids.
+ * A cursor only encodes the last id a client has seen, so pages stay stable under concurrent inserts.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long lastId) {
+        byte[] raw = (PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Returns the id to continue after, or 0 when no cursor was given.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from rows fetched with pageSize + 1 as the query limit;
+     * the extra row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> page(List<T> rows, int pageSize, ToLongFunction<T> idOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, encode(idOf.applyAsLong(items.get(pageSize - 1))));
+    }
+}
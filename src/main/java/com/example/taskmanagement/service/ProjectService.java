@@ -1,9 +1,23 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.config.CacheConfig;
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.ProjectInfo;
+import com.example.taskmanagement.dto.ProjectSummary;
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.event.ChangeType;
+import com.example.taskmanagement.event.ProjectChangedEvent;
 import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,30 +26,96 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ProjectService {
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final CacheManager cacheManager;
+    private final ProjectStatsService projectStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * All projects with their tasks, fetched in one query. Prefer getProjectSummaries for listings.
+     */
     public List<Project> getAllProjects() {
-        return projectRepository.findAll();
+        return projectRepository.findAllWithTasks();
     }
 
+    public List<ProjectSummary> getProjectSummaries() {
+        return projectRepository.findAllSummaries();
+    }
+
+    public CursorPage<ProjectSummary> getProjectSummariesPage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+        List<ProjectSummary> rows = projectRepository.findSummariesAfter(afterId, Limit.of(pageSize + 1));
+        return KeysetCursor.page(rows, pageSize, ProjectSummary::id);
+    }
+
+    /**
+     * Keyset page of projects with their tasks fetched; the page is chosen by id before the tasks are joined.
+     */
+    public CursorPage<Project> getProjectsPage(String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+        CursorPage<Long> ids = KeysetCursor.page(
+                projectRepository.findIdsAfter(afterId, Limit.of(pageSize + 1)), pageSize, Long::longValue);
+        List<Project> projects = ids.items().isEmpty()
+                ? List.of()
+                : projectRepository.findAllWithTasksByIdIn(ids.items());
+        return new CursorPage<>(projects, ids.nextCursor());
+    }
+
+    /**
+     * The project with its tasks fetched; not cached, since a cached copy would hold the whole task list.
+     */
     public Optional<Project> getProjectById(Long id) {
-        return projectRepository.findById(id);
+        return projectRepository.findWithTasksById(id);
+    }
+
+    /**
+     * The project's own fields without its tasks, cached. Only a project update or delete changes an
+     * entry, so task writes never evict it.
+     */
+    @Cacheable(cacheNames = CacheConfig.PROJECTS, key = "#id", unless = "#result == null")
+    public Optional<ProjectInfo> getProjectInfo(Long id) {
+        return projectRepository.findById(id)
+                .map(project -> new ProjectInfo(project.getId(), project.getName(), project.getDescription()));
     }
 
+    @Transactional
     public Project createProject(Project project) {
-        return projectRepository.save(project);
+        Project saved = projectRepository.save(project);
+        projectStatsService.projectCreated(saved.getId(), saved.getTasks());
+        eventPublisher.publishEvent(ProjectChangedEvent.of(ChangeType.CREATED, saved));
+        return saved;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     public Project updateProject(Long id, Project updatedProject) {
         return projectRepository.findById(id)
                 .map(project -> {
                     project.setName(updatedProject.getName());
                     project.setDescription(updatedProject.getDescription());
-                    return projectRepository.save(project);
+                    Project saved = projectRepository.save(project);
+                    eventPublisher.publishEvent(ProjectChangedEvent.of(ChangeType.UPDATED, saved));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Project not found"));
     }
 
+    /**
+     * Deletes the project's tasks and then the project with one statement each,
+     * rather than loading every task for orphan removal.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS, key = "#id")
     public void deleteProject(Long id) {
-        projectRepository.deleteById(id);
+        projectRepository.findById(id).ifPresent(project -> {
+            // Like the bulk task operations, drop the whole task cache instead of loading every id to evict
+            cacheManager.getCache(CacheConfig.TASKS).clear();
+            taskRepository.deleteMatching(new TaskFilter(id, null, null));
+            projectRepository.deleteProjectRow(id);
+            projectStatsService.projectDeleted(id);
+            eventPublisher.publishEvent(ProjectChangedEvent.of(ChangeType.DELETED, project));
+        });
     }
 }
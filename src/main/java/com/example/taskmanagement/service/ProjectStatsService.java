@@ -0,0 +1,180 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.ProjectTaskStats;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.ProjectTaskStatsRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintains the per-project task counters in ProjectTaskStats.
+ * The record* methods run inside the caller's transaction so counters commit or roll back with the task write.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectStatsService {
+    private final ProjectTaskStatsRepository statsRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    public Optional<ProjectTaskStats> getStats(Long projectId) {
+        return statsRepository.findById(projectId);
+    }
+
+    /**
+     * Creates the counter row of a new project, counting the tasks it was saved with (cascaded from the project).
+     */
+    public void projectCreated(Long projectId, Collection<Task> tasks) {
+        ProjectTaskStats stats = new ProjectTaskStats(projectId);
+        if (tasks != null) {
+            for (Task task : tasks) {
+                stats.setTaskCount(stats.getTaskCount() + 1);
+                if (task.getStatus() == Task.Status.TODO) stats.setTodoCount(stats.getTodoCount() + 1);
+                if (task.getStatus() == Task.Status.IN_PROGRESS) stats.setInProgressCount(stats.getInProgressCount() + 1);
+                if (task.getStatus() == Task.Status.DONE) stats.setDoneCount(stats.getDoneCount() + 1);
+            }
+        }
+        upsert(stats);
+    }
+
+    public void projectDeleted(Long projectId) {
+        statsRepository.deleteById(projectId);
+    }
+
+    public void recordAdded(Long projectId, Task.Status status, long count) {
+        adjust(projectId, count,
+                delta(status, Task.Status.TODO, count),
+                delta(status, Task.Status.IN_PROGRESS, count),
+                delta(status, Task.Status.DONE, count));
+    }
+
+    public void recordRemoved(Long projectId, Task.Status status, long count) {
+        recordAdded(projectId, status, -count);
+    }
+
+    public void recordStatusChange(Long projectId, Task.Status from, Task.Status to, long count) {
+        if (from == to) {
+            return;
+        }
+        adjust(projectId, 0,
+                delta(to, Task.Status.TODO, count) - delta(from, Task.Status.TODO, count),
+                delta(to, Task.Status.IN_PROGRESS, count) - delta(from, Task.Status.IN_PROGRESS, count),
+                delta(to, Task.Status.DONE, count) - delta(from, Task.Status.DONE, count));
+    }
+
+    /**
+     * Rebuilds every project's counters from the task table, one project per transaction.
+     * Also creates rows for projects that have none yet. Runs at startup and then periodically, except
+     * while withReconciliationPaused is loading data.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval}")
+    public void reconcileAll() {
+        if (!reconcileLock.tryLock()) {
+            log.info("Skipping task counter reconciliation while the tables are being bulk loaded");
+            return;
+        }
+        try {
+            reconcileEveryProject();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    /**
+     * Runs a bulk load that writes tasks and counter rows itself, e.g. the seeder. It waits for a running
+     * reconciliation to finish, and scheduled reconciliations are skipped until it returns, so they never
+     * count a half-loaded project.
+     */
+    public void withReconciliationPaused(Runnable load) {
+        reconcileLock.lock();
+        try {
+            load.run();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void reconcileEveryProject() {
+        int corrected = 0;
+        for (Long projectId : projectRepository.findAllIds()) {
+            try {
+                if (reconcileInTransaction(projectId)) {
+                    corrected++;
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not reconcile task counters for project {}", projectId, e);
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Reconciled task counters for {} projects", corrected);
+        }
+    }
+
+    // A concurrent writer can still win the insert of a missing row; the second attempt finds and locks it
+    private boolean reconcileInTransaction(Long projectId) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(projectId)));
+        } catch (DataIntegrityViolationException e) {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcile(projectId)));
+        }
+    }
+
+    /**
+     * Locks the project's counter row before counting, so increments from concurrent task writes
+     * either commit before the count or apply on top of it. A missing row is created.
+     */
+    private boolean reconcile(Long projectId) {
+        Optional<ProjectTaskStats> stats = statsRepository.findForUpdate(projectId);
+        ProjectTaskStats actual = new ProjectTaskStats(projectId);
+        for (Object[] row : taskRepository.countByStatus(projectId)) {
+            Task.Status status = (Task.Status) row[0];
+            long count = (Long) row[1];
+            actual.setTaskCount(actual.getTaskCount() + count);
+            if (status == Task.Status.TODO) actual.setTodoCount(count);
+            if (status == Task.Status.IN_PROGRESS) actual.setInProgressCount(count);
+            if (status == Task.Status.DONE) actual.setDoneCount(count);
+        }
+        if (stats.isPresent() && actual.equals(stats.get())) {
+            return false;
+        }
+        upsert(actual);
+        return true;
+    }
+
+    /**
+     * Applies the deltas to the counter row. Without a row there is nothing to apply them to, so the
+     * counters are rebuilt from the task table in the caller's transaction, which already sees its own write.
+     */
+    private void adjust(Long projectId, long total, long todo, long inProgress, long done) {
+        if (statsRepository.increment(projectId, total, todo, inProgress, done) > 0) {
+            return;
+        }
+        if (projectRepository.existsById(projectId)) {
+            log.warn("No task counters for project {}; rebuilding them from the task table", projectId);
+            reconcile(projectId);
+        }
+    }
+
+    private void upsert(ProjectTaskStats stats) {
+        statsRepository.upsert(stats.getProjectId(), stats.getTaskCount(), stats.getTodoCount(),
+                stats.getInProgressCount(), stats.getDoneCount());
+    }
+
+    private static long delta(Task.Status status, Task.Status counted, long count) {
+        return status == counted ? count : 0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.ProjectReport;
+import com.example.taskmanagement.dto.StatusReport;
+import com.example.taskmanagement.dto.TaskBrief;
+import com.example.taskmanagement.event.ChangeRecord;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.ProjectTaskStatsRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Aggregates for the MCP summary tools and prompts. Each report is built from two database queries
+ * (the counters and one window-function query for the grouped task lists) plus the in-memory change feed,
+ * instead of a round trip per project or task.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+    public static final int DEFAULT_TASKS = 5;
+    public static final int MAX_TASKS = 50;
+    public static final int DEFAULT_PROJECTS = 20;
+    public static final int MAX_PROJECTS = 200;
+    public static final int DEFAULT_CHANGES = 10;
+    public static final int MAX_CHANGES = 100;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectTaskStatsRepository statsRepository;
+    private final ChangeFeedService changeFeedService;
+
+    @Transactional(readOnly = true)
+    public Optional<ProjectReport> projectReport(Long projectId, Integer tasksPerStatus, Integer recentChanges) {
+        return projectRepository.findSummaryById(projectId).map(project -> {
+            Map<Task.Status, List<TaskBrief>> newestTasks = new EnumMap<>(Task.Status.class);
+            for (Task.Status status : Task.Status.values()) {
+                newestTasks.put(status, new ArrayList<>());
+            }
+            for (Object[] row : taskRepository.findNewestPerStatus(projectId, clamp(tasksPerStatus, DEFAULT_TASKS, MAX_TASKS))) {
+                newestTasks.get(Task.Status.valueOf((String) row[3]))
+                        .add(new TaskBrief(((Number) row[0]).longValue(), (String) row[1], (String) row[2]));
+            }
+            List<ChangeRecord> changes = changeFeedService.recentChanges(
+                    record -> record.concernsProject(projectId), clamp(recentChanges, DEFAULT_CHANGES, MAX_CHANGES));
+            return new ProjectReport(project, newestTasks, changes);
+        });
+    }
+
+    /**
+     * Tasks in one status across projects, or within one project if projectId is set.
+     * Projects are listed in id order, at most maxProjects of them.
+     */
+    @Transactional(readOnly = true)
+    public StatusReport statusReport(Task.Status status, Long projectId, Integer tasksPerProject,
+                                     Integer maxProjects, Integer recentChanges) {
+        // The counter columns come back in Task.Status order
+        Object[] totals = statsRepository.sumCounts(projectId).get(0);
+        long total = ((Number) totals[status.ordinal()]).longValue();
+
+        Map<Long, StatusReport.ProjectGroup> groups = new LinkedHashMap<>();
+        List<Object[]> rows = taskRepository.findNewestPerProjectByStatus(status.name(), projectId,
+                clamp(tasksPerProject, DEFAULT_TASKS, MAX_TASKS), clamp(maxProjects, DEFAULT_PROJECTS, MAX_PROJECTS));
+        for (Object[] row : rows) {
+            Long groupProjectId = ((Number) row[0]).longValue();
+            groups.computeIfAbsent(groupProjectId, id -> new StatusReport.ProjectGroup(
+                            id, (String) row[1], ((Number) row[2]).longValue(), new ArrayList<>()))
+                    .newestTasks()
+                    .add(new TaskBrief(((Number) row[3]).longValue(), (String) row[4], (String) row[5]));
+        }
+
+        List<ChangeRecord> changes = changeFeedService.recentChanges(
+                record -> record.concernsStatus(status) && (projectId == null || record.concernsProject(projectId)),
+                clamp(recentChanges, DEFAULT_CHANGES, MAX_CHANGES));
+        return new StatusReport(status, total, List.copyOf(groups.values()), changes);
+    }
+
+    private static int clamp(Integer value, int defaultValue, int max) {
+        if (value == null || value < 0) {
+            return defaultValue;
+        }
+        return Math.min(value, max);
+    }
+}
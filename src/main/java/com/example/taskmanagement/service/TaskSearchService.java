@@ -0,0 +1,409 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.dto.TaskSearchHit;
+import com.example.taskmanagement.event.ChangeType;
+import com.example.taskmanagement.event.ProjectChangedEvent;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TasksBulkChangedEvent;
+import com.example.taskmanagement.event.TasksCreatedEvent;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions.
+ * Built from the database on a background thread once the application is ready, and kept current from
+ * the task and project change events after each write commits. Searches never touch the database; until
+ * the first build completes they are refused with 503 rather than answered from a partial index.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskSearchService {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 200;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Shorter query terms only match whole words; a one-letter prefix would expand to most of the vocabulary
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<TaskSearchHit> BY_SCORE =
+            Comparator.comparingDouble(TaskSearchHit::score).thenComparing(TaskSearchHit::id);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedTask> documents = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> tasksByProject = new ConcurrentHashMap<>();
+
+    // Writes are serialized; searches read the concurrent maps without locking. A lock rather than a
+    // monitor: request threads index after commit, and in virtual thread mode waiting must not pin them
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // While the startup rebuild streams the table, live writes win over the rows it reads
+    private final Set<Long> touchedTasks = new HashSet<>();
+    private final Set<Long> deletedProjects = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    private record IndexedTask(
+            Long id,
+            Long projectId,
+            String title,
+            String description,
+            Task.Status status,
+            Map<String, Integer> termWeights
+    ) {}
+
+    /**
+     * A query term resolved once per search: the matching indexed terms with their idf and match factor,
+     * and those terms' postings.
+     */
+    private record QueryTerm(Map<String, Double> matches, List<Set<Long>> postings, long postingsSize) {
+        // Tasks holding several of the matched terms come from the first of their postings only
+        Stream<Long> tasks() {
+            return IntStream.range(0, postings.size()).boxed()
+                    .flatMap(i -> postings.get(i).stream().filter(id -> !inEarlierPosting(i, id)));
+        }
+
+        private boolean inEarlierPosting(int index, Long id) {
+            for (int i = 0; i < index; i++) {
+                if (postings.get(i).contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public List<TaskSearchHit> search(String query, Long projectId, Task.Status status, Integer limit) {
+        if (!ready) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still being built");
+        }
+        List<String> terms = tokenize(query).distinct().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        int maxHits = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        int totalDocuments = Math.max(documents.size(), 1);
+        List<QueryTerm> resolved = terms.stream().map(term -> resolve(term, totalDocuments)).toList();
+        if (resolved.stream().anyMatch(term -> term.matches().isEmpty())) {
+            return List.of();
+        }
+
+        // Candidates come from the project or the most selective term, whichever holds fewer tasks;
+        // scoring then drops every candidate that misses a term
+        QueryTerm selective = resolved.stream().min(Comparator.comparingLong(QueryTerm::postingsSize)).orElseThrow();
+        Set<Long> projectTasks = projectId == null ? null : tasksByProject.getOrDefault(projectId, Set.of());
+        Stream<Long> candidates = projectTasks != null && projectTasks.size() <= selective.postingsSize()
+                ? projectTasks.stream()
+                : selective.tasks();
+
+        PriorityQueue<TaskSearchHit> top = new PriorityQueue<>(BY_SCORE);
+        candidates.forEach(id -> {
+            IndexedTask task = documents.get(id);
+            if (task == null
+                    || (projectId != null && !projectId.equals(task.projectId()))
+                    || (status != null && status != task.status())) {
+                return;
+            }
+            double score = score(task, resolved);
+            if (score <= 0) {
+                return;
+            }
+            top.add(new TaskSearchHit(task.id(), task.projectId(), task.title(), task.description(),
+                    task.status(), score));
+            if (top.size() > maxHits) {
+                top.poll();
+            }
+        });
+
+        List<TaskSearchHit> hits = new ArrayList<>(top);
+        hits.sort(BY_SCORE.reversed());
+        return hits;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        writeLock.lock();
+        try {
+            if (event.type() == ChangeType.DELETED) {
+                remove(event.taskId());
+            } else if (event.partial()) {
+                IndexedTask current = documents.get(event.taskId());
+                if (current == null) {
+                    // Not indexed yet; a running rebuild will read the patched row
+                    return;
+                }
+                index(event.taskId(), event.projectId(),
+                        event.title() != null ? event.title() : current.title(),
+                        event.description() != null ? event.description() : current.description(),
+                        event.status());
+            } else {
+                index(event.taskId(), event.projectId(), event.title(), event.description(), event.status());
+            }
+            if (rebuilding) {
+                touchedTasks.add(event.taskId());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksCreated(TasksCreatedEvent event) {
+        writeLock.lock();
+        try {
+            for (TaskChangedEvent task : event.tasks()) {
+                index(task.taskId(), task.projectId(), task.title(), task.description(), task.status());
+                if (rebuilding) {
+                    touchedTasks.add(task.taskId());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (rebuilding) {
+                deletedProjects.add(event.projectId());
+            }
+            Set<Long> taskIds = tasksByProject.get(event.projectId());
+            if (taskIds != null) {
+                List.copyOf(taskIds).forEach(this::remove);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksBulkChanged(TasksBulkChangedEvent event) {
+        TaskFilter filter = event.filter();
+        writeLock.lock();
+        try {
+            Collection<Long> candidates = filter.ids() != null && !filter.ids().isEmpty()
+                    ? filter.ids()
+                    : tasksByProject.getOrDefault(filter.projectId(), Set.of());
+            for (Long id : List.copyOf(candidates)) {
+                IndexedTask task = documents.get(id);
+                if (task == null
+                        || (filter.projectId() != null && !filter.projectId().equals(task.projectId()))
+                        || (filter.status() != null && filter.status() != task.status())) {
+                    continue;
+                }
+                if (event.type() == ChangeType.DELETED) {
+                    remove(id);
+                } else {
+                    // Only the status changed, so the postings stay as they are
+                    documents.put(id, new IndexedTask(task.id(), task.projectId(), task.title(),
+                            task.description(), event.status(), task.termWeights()));
+                }
+                if (rebuilding) {
+                    touchedTasks.add(id);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Streaming millions of rows would hold up the startup thread, and with it the ready signal
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        Thread.ofPlatform().name("search-index-rebuild").daemon().start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Search index build failed, search stays unavailable", e);
+            }
+        });
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            rebuilding = true;
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Task> tasks = taskRepository.streamAllByOrderByIdAsc()) {
+                    tasks.forEach(task -> {
+                        Long projectId = task.getProject().getId();
+                        writeLock.lock();
+                        try {
+                            if (!touchedTasks.contains(task.getId()) && !deletedProjects.contains(projectId)) {
+                                index(task.getId(), projectId, task.getTitle(), task.getDescription(), task.getStatus());
+                            }
+                        } finally {
+                            writeLock.unlock();
+                        }
+                        entityManager.detach(task);
+                    });
+                }
+            });
+        } finally {
+            writeLock.lock();
+            try {
+                rebuilding = false;
+                touchedTasks.clear();
+                deletedProjects.clear();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        ready = true;
+        log.info("Search index built: {} tasks, {} terms in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * The indexed terms a query term matches: the word itself, and with at least MIN_PREFIX_LENGTH
+     * characters every word it prefixes. Each is weighted by its idf, and prefix matches by
+     * PREFIX_MATCH_FACTOR.
+     */
+    private QueryTerm resolve(String term, int totalDocuments) {
+        Map<String, Set<Long>> expansions;
+        if (term.length() < MIN_PREFIX_LENGTH) {
+            Set<Long> exact = postings.get(term);
+            expansions = exact == null ? Map.of() : Map.of(term, exact);
+        } else {
+            expansions = postings.subMap(term, true, term + Character.MAX_VALUE, true);
+        }
+        Map<String, Double> matches = new HashMap<>();
+        List<Set<Long>> matchPostings = new ArrayList<>();
+        long postingsSize = 0;
+        for (Map.Entry<String, Set<Long>> expansion : expansions.entrySet()) {
+            Set<Long> posting = expansion.getValue();
+            double idf = Math.log(1.0 + (double) totalDocuments / Math.max(posting.size(), 1));
+            matches.put(expansion.getKey(), expansion.getKey().equals(term) ? idf : idf * PREFIX_MATCH_FACTOR);
+            matchPostings.add(posting);
+            postingsSize += posting.size();
+        }
+        return new QueryTerm(matches, matchPostings, postingsSize);
+    }
+
+    /**
+     * Sum over query terms of the best-matching indexed term's weight times its idf and match factor.
+     * Returns 0 if any query term is unmatched.
+     */
+    private static double score(IndexedTask task, List<QueryTerm> terms) {
+        Map<String, Integer> termWeights = task.termWeights();
+        double score = 0;
+        for (QueryTerm term : terms) {
+            double best = 0;
+            // Walk the smaller side: a task has a few dozen words, a short prefix can have thousands
+            if (termWeights.size() <= term.matches().size()) {
+                for (Map.Entry<String, Integer> entry : termWeights.entrySet()) {
+                    Double match = term.matches().get(entry.getKey());
+                    if (match != null) {
+                        best = Math.max(best, entry.getValue() * match);
+                    }
+                }
+            } else {
+                for (Map.Entry<String, Double> match : term.matches().entrySet()) {
+                    Integer weight = termWeights.get(match.getKey());
+                    if (weight != null) {
+                        best = Math.max(best, weight * match.getValue());
+                    }
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private void index(Long id, Long projectId, String title, String description, Task.Status status) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        IndexedTask previous = documents.put(id,
+                new IndexedTask(id, projectId, title, description, status, Map.copyOf(weights)));
+        if (previous != null) {
+            previous.termWeights().keySet().stream()
+                    .filter(term -> !weights.containsKey(term))
+                    .forEach(term -> removePosting(term, id));
+            if (!previous.projectId().equals(projectId)) {
+                removeFromProject(previous.projectId(), id);
+            }
+        }
+        weights.keySet().forEach(term -> postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id));
+        tasksByProject.computeIfAbsent(projectId, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private void remove(Long id) {
+        IndexedTask previous = documents.remove(id);
+        if (previous != null) {
+            previous.termWeights().keySet().forEach(term -> removePosting(term, id));
+            removeFromProject(previous.projectId(), id);
+        }
+    }
+
+    private void removePosting(String term, Long id) {
+        Set<Long> ids = postings.get(term);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private void removeFromProject(Long projectId, Long id) {
+        Set<Long> ids = tasksByProject.get(projectId);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                tasksByProject.remove(projectId);
+            }
+        }
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty());
+    }
+}
@@ -1,48 +1,253 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.config.CacheConfig;
+import com.example.taskmanagement.dto.CursorPage;
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.dto.TaskPatch;
+import com.example.taskmanagement.dto.TaskRef;
+import com.example.taskmanagement.event.ChangeType;
+import com.example.taskmanagement.event.TaskChangedEvent;
+import com.example.taskmanagement.event.TasksBulkChangedEvent;
+import com.example.taskmanagement.event.TasksCreatedEvent;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.repository.TaskRepository;
 import com.example.taskmanagement.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final ProjectStatsService projectStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int PATCH_ATTEMPTS = 3;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${app.tasks.batch.max-size:1000}")
+    private int maxBatchSize;
 
     public List<Task> getTasksByProjectId(Long projectId) {
         return taskRepository.findByProjectId(projectId);
     }
 
+    public CursorPage<Task> getTasksPageByProjectId(Long projectId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+        List<Task> rows = taskRepository.findByProjectIdAndIdGreaterThanOrderByIdAsc(
+                projectId, afterId, Limit.of(pageSize + 1));
+        return KeysetCursor.page(rows, pageSize, Task::getId);
+    }
+
+    public List<Task> getTasksByStatus(Task.Status status) {
+        return taskRepository.findByStatusOrderByIdAsc(status);
+    }
+
+    /**
+     * Keyset page of tasks in one status, optionally limited to a single project.
+     * Served by the (status, project_id) index, so cost follows the number of matches.
+     */
+    public CursorPage<Task> searchTasksByStatus(Task.Status status, Long projectId, String cursor, Integer limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+        Limit rowLimit = Limit.of(pageSize + 1);
+        List<Task> rows = projectId != null
+                ? taskRepository.findByStatusAndProjectIdAndIdGreaterThanOrderByIdAsc(status, projectId, afterId, rowLimit)
+                : taskRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, rowLimit);
+        return KeysetCursor.page(rows, pageSize, Task::getId);
+    }
+
+    /**
+     * Hands every task of a project to the consumer in id order while the rows are read,
+     * detaching each one so the persistence context does not grow with the project.
+     */
+    @Transactional(readOnly = true)
+    public void streamTasksByProjectId(Long projectId, Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamByProjectIdOrderByIdAsc(projectId)) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                entityManager.detach(task);
+            });
+        }
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#id", unless = "#result == null")
     public Optional<Task> getTaskById(Long id) {
         return taskRepository.findById(id);
     }
 
+    @Transactional
     public Task createTask(Long projectId, Task task) {
         var project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
         task.setProject(project);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        projectStatsService.recordAdded(projectId, saved.getStatus(), 1);
+        eventPublisher.publishEvent(TaskChangedEvent.created(saved, projectId));
+        return saved;
+    }
+
+    /**
+     * Inserts all tasks into one project with a single project lookup. The persistence context is
+     * flushed and cleared every JDBC batch so large imports neither grow the heap nor lose batching.
+     * Batches over app.tasks.batch.max-size and tasks that carry an id are rejected with an
+     * IllegalArgumentException; persisting a client-supplied id would fail on the detached entity.
+     */
+    @Transactional
+    public List<Task> createTasks(Long projectId, List<Task> tasks) {
+        if (tasks.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " tasks per batch");
+        }
+        if (tasks.stream().anyMatch(task -> task.getId() != null)) {
+            throw new IllegalArgumentException("Task ids are assigned by the server");
+        }
+        var project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new RuntimeException("Project not found"));
+        List<TaskChangedEvent> created = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            task.setProject(project);
+            entityManager.persist(task);
+            created.add(TaskChangedEvent.created(task, projectId));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        tasks.stream()
+                .collect(Collectors.groupingBy(task -> Optional.ofNullable(task.getStatus()), Collectors.counting()))
+                .forEach((status, count) -> projectStatsService.recordAdded(projectId, status.orElse(null), count));
+        eventPublisher.publishEvent(new TasksCreatedEvent(projectId, created));
+        return tasks;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    @Transactional
     public Task updateTask(Long id, Task updatedTask) {
         return taskRepository.findById(id)
                 .map(task -> {
+                    Task.Status previousStatus = task.getStatus();
                     task.setTitle(updatedTask.getTitle());
                     task.setDescription(updatedTask.getDescription());
                     task.setStatus(updatedTask.getStatus());
-                    return taskRepository.save(task);
+                    Task saved = taskRepository.save(task);
+                    Long projectId = task.getProject().getId();
+                    projectStatsService.recordStatusChange(projectId, previousStatus, saved.getStatus(), 1);
+                    eventPublisher.publishEvent(TaskChangedEvent.updated(saved, projectId, previousStatus));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Task not found"));
     }
 
+    /**
+     * Applies the non-null fields of the patch with a targeted UPDATE instead of load, mutate and save.
+     * Returns false if the task does not exist.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
+    public boolean patchTask(Long id, TaskPatch patch) {
+        for (int attempt = 0; attempt < PATCH_ATTEMPTS; attempt++) {
+            Optional<TaskRef> ref = taskRepository.findRefById(id);
+            if (ref.isEmpty()) {
+                return false;
+            }
+            Long projectId = ref.get().projectId();
+            Task.Status previousStatus = ref.get().status();
+            // Zero rows means the status changed since we read it; read again so the counters stay exact
+            if (taskRepository.patch(id, patch.title(), patch.description(), patch.status(), previousStatus) == 1) {
+                Task.Status status = patch.status() != null ? patch.status() : previousStatus;
+                projectStatsService.recordStatusChange(projectId, previousStatus, status, 1);
+                eventPublisher.publishEvent(TaskChangedEvent.patched(
+                        id, projectId, patch.title(), patch.description(), status, previousStatus));
+                return true;
+            }
+        }
+        throw new RuntimeException("Task is being modified concurrently, try again");
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#id")
     public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            Long projectId = task.getProject().getId();
+            taskRepository.delete(task);
+            projectStatsService.recordRemoved(projectId, task.getStatus(), 1);
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(task, projectId));
+        });
+    }
+
+    /**
+     * Moves every task matching the filter to the given status and returns the number moved.
+     */
+    @Transactional
+    public int bulkUpdateStatus(TaskFilter filter, Task.Status status) {
+        requireNarrowed(filter);
+        List<Object[]> changes = taskRepository.updateStatusMatching(filter, status);
+        int affected = 0;
+        for (Object[] row : changes) {
+            projectStatsService.recordStatusChange((Long) row[0], (Task.Status) row[1], status, (Long) row[2]);
+            affected += (Long) row[2];
+        }
+        afterBulkChange(ChangeType.UPDATED, filter, status, affected, changes);
+        return affected;
     }
-}
 
+    /**
+     * Deletes every task matching the filter and returns the number deleted.
+     */
+    @Transactional
+    public int bulkDelete(TaskFilter filter) {
+        requireNarrowed(filter);
+        List<Object[]> removals = taskRepository.deleteMatchingByGroup(filter);
+        int affected = 0;
+        for (Object[] row : removals) {
+            projectStatsService.recordRemoved((Long) row[0], (Task.Status) row[1], (Long) row[2]);
+            affected += (Long) row[2];
+        }
+        afterBulkChange(ChangeType.DELETED, filter, null, affected, removals);
+        return affected;
+    }
+
+    private void afterBulkChange(ChangeType type, TaskFilter filter, Task.Status status, int affected,
+                                 List<Object[]> countsByProjectAndStatus) {
+        Set<Long> projectIds = new HashSet<>();
+        Set<Task.Status> previousStatuses = new HashSet<>();
+        for (Object[] row : countsByProjectAndStatus) {
+            projectIds.add((Long) row[0]);
+            previousStatuses.add((Task.Status) row[1]);
+        }
+        // The matched ids are never loaded, so bulk changes drop the whole task cache (applied on commit)
+        cacheManager.getCache(CacheConfig.TASKS).clear();
+        eventPublisher.publishEvent(new TasksBulkChangedEvent(
+                type, filter, status, affected, projectIds, previousStatuses));
+    }
+
+    private static void requireNarrowed(TaskFilter filter) {
+        if (filter == null || !filter.isNarrowed()) {
+            throw new IllegalArgumentException("Bulk operations need a projectId or a list of task ids");
+        }
+    }
+}